@@ -0,0 +1,54 @@
+#!/bin/sh
+# ---------------------------------------------------------------------------
+# optimize-assets.sh
+# Build-time static asset step. Runs in the Docker build stage before
+# `mvn package`, so the optimized files end up inside the jar.
+#
+# 1. Encodes WebP/AVIF variants of the hero image (if cwebp/avifenc exist)
+#    and lets index.html offer them through CSS image-set().
+# 2. Rewrites image URLs in index.html to content-hashed names
+#    (images/hero-bg-<md5>.png). Spring's VersionResourceResolver (see WebConfig)
+#    serves them, so they can be cached as immutable.
+# 3. Writes gzip and brotli copies of index.html, which WebConfig serves to
+#    browsers that accept them.
+#
+# It rewrites files in place, so run it on a build copy, not your working tree.
+# Usage: sh scripts/optimize-assets.sh [static-dir]
+# ---------------------------------------------------------------------------
+set -e
+
+STATIC_DIR="${1:-src/main/resources/static}"
+IMAGES_DIR="$STATIC_DIR/images"
+INDEX="$STATIC_DIR/index.html"
+HERO="$IMAGES_DIR/hero-bg.png"
+
+# 1. Modern image formats
+IMAGE_SET=""
+if command -v avifenc >/dev/null 2>&1; then
+    avifenc --min 20 --max 35 --speed 4 "$HERO" "$IMAGES_DIR/hero-bg.avif" >/dev/null
+    IMAGE_SET="${IMAGE_SET}url('images/hero-bg.avif') type('image/avif'), "
+fi
+if command -v cwebp >/dev/null 2>&1; then
+    cwebp -quiet -q 80 "$HERO" -o "$IMAGES_DIR/hero-bg.webp"
+    IMAGE_SET="${IMAGE_SET}url('images/hero-bg.webp') type('image/webp'), "
+fi
+if [ -n "$IMAGE_SET" ]; then
+    # Keep the PNG declaration as fallback for browsers without image-set() support
+    sed -i "/url('images\/hero-bg.png');/a\\
+            background-image: linear-gradient(rgba(15, 23, 42, 0.8), rgba(15, 23, 42, 0.8)), image-set(${IMAGE_SET}url('images/hero-bg.png') type('image/png'));" "$INDEX"
+fi
+
+# 2. Fingerprinted URLs (same "name-<md5>.ext" format as Spring's content version strategy)
+for file in "$IMAGES_DIR"/*; do
+    name=$(basename "$file")
+    hash=$(md5sum "$file" | cut -d ' ' -f 1)
+    sed -i "s#images/$name#images/${name%.*}-$hash.${name##*.}#g" "$INDEX"
+done
+
+# 3. Precompressed index.html
+gzip -9 -k -f "$INDEX"
+if command -v brotli >/dev/null 2>&1; then
+    brotli -q 11 -k -f "$INDEX"
+fi
+
+ls -l "$IMAGES_DIR" "$STATIC_DIR"
@@ -3,8 +3,10 @@ package com.example.startSpring;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling // Background jobs, e.g. the TodoRankRebalancer
 public class StartSpringApplication {
 
 
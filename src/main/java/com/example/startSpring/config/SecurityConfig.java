@@ -1,5 +1,7 @@
 package com.example.startSpring.config;
 
+import com.example.startSpring.limiter.ConcurrencyLimitFilter;
+import com.example.startSpring.limiter.RateLimitFilter;
 import com.example.startSpring.security.JwtAuthenticationFilter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
@@ -28,6 +30,8 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthFilter;
+    private final ConcurrencyLimitFilter concurrencyLimitFilter;
+    private final RateLimitFilter rateLimitFilter;
     private final AuthenticationProvider authenticationProvider;
 
     @Bean
@@ -57,7 +61,13 @@ public class SecurityConfig {
 
             // Add our JWT Filter *before* the standard Spring Security filter.
             // We want to check the token first!
-            .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+
+            // Shed load *before* the JWT filter, so rejected requests never touch the database.
+            .addFilterBefore(concurrencyLimitFilter, JwtAuthenticationFilter.class)
+
+            // Rate limit *after* the JWT filter, so we know who the user is (and their role).
+            .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
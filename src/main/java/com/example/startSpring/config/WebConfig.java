@@ -0,0 +1,77 @@
+package com.example.startSpring.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import java.time.Duration;
+import java.util.regex.Pattern;
+
+/**
+ * WebConfig
+ * ---------
+ * How the static landing page (index.html + images) is served.
+ * The files are prepared at build time by scripts/optimize-assets.sh:
+ * - Images are requested with a content hash in the name (hero-bg-<md5>.png).
+ *   A changed image gets a new URL, so browsers may keep the old one cached "forever" (immutable).
+ *   Plain names (hero-bg.png, used when the script hasn't run, e.g. local builds) must be revalidated.
+ * - index.html must always be revalidated (it decides which hashed URLs to load), but it is
+ *   small, and the precompressed index.html.br / .gz is served when the browser accepts it.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    // "name-<md5>.ext", the format of the content version strategy below
+    private static final Pattern FINGERPRINTED = Pattern.compile(".*-[0-9a-f]{32}\\.[^/.]+$");
+
+    @Value("${todo.static.image-cache-max-age:365d}")
+    private Duration imageCacheMaxAge;
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        // No cache control here: ImageCacheInterceptor picks it per URL
+        registry.addResourceHandler("/images/**")
+                .addResourceLocations("classpath:/static/images/")
+                .resourceChain(true)
+                // Maps hero-bg-<md5>.png back to hero-bg.png (and checks the hash)
+                .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+
+        registry.addResourceHandler("/*.html")
+                .addResourceLocations("classpath:/static/")
+                .setCacheControl(CacheControl.noCache())
+                .resourceChain(true)
+                // Serves index.html.br / index.html.gz (with Vary: Accept-Encoding) when present
+                .addResolver(new EncodedResourceResolver());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ImageCacheInterceptor(CacheControl.maxAge(imageCacheMaxAge).cachePublic().immutable()))
+                .addPathPatterns("/images/**");
+    }
+
+    /**
+     * Long-lived immutable caching only for fingerprinted image URLs, no-cache for everything else.
+     */
+    private record ImageCacheInterceptor(CacheControl fingerprinted) implements HandlerInterceptor {
+
+        @Override
+        public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler) {
+            CacheControl cacheControl = FINGERPRINTED.matcher(request.getRequestURI()).matches()
+                    ? fingerprinted
+                    : CacheControl.noCache();
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+            return true;
+        }
+    }
+}
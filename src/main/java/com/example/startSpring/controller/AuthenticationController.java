@@ -7,11 +7,15 @@ import com.example.startSpring.dto.RegisterRequest;
 import com.example.startSpring.service.AuthenticationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
@@ -28,6 +32,15 @@ public class AuthenticationController {
         );
     }
 
+    @GetMapping("/username-available")
+    public ResponseEntity<ApiResponse<Map<String, Boolean>>> isUsernameAvailable(
+            @RequestParam String username
+    ) {
+        return ResponseEntity.ok(
+                ApiResponse.success("Username checked", Map.of("available", service.isUsernameAvailable(username)))
+        );
+    }
+
     @PostMapping("/login")
     public ResponseEntity<ApiResponse<AuthenticationResponse>> authenticate(
             @RequestBody AuthenticationRequest request
@@ -1,10 +1,17 @@
 package com.example.startSpring.controller;
 
+import com.example.startSpring.limiter.AdaptiveConcurrencyLimit;
+import com.example.startSpring.limiter.ConcurrencyLimitFilter;
+import com.example.startSpring.limiter.RateLimitFilter;
+import com.example.startSpring.service.TodoStatusWriteBehind;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -15,8 +22,13 @@ import java.util.Map;
  */
 @RestController
 @RequestMapping("/api/health")
+@RequiredArgsConstructor
 public class HealthController {
 
+    private final ConcurrencyLimitFilter concurrencyLimitFilter;
+    private final RateLimitFilter rateLimitFilter;
+    private final TodoStatusWriteBehind statusWriteBehind;
+
     @GetMapping
     public Map<String, Object> healthCheck() {
         return Map.of(
@@ -26,4 +38,33 @@ public class HealthController {
             "environment", "Production Ready"
         );
     }
+
+    /**
+     * Current adaptive concurrency limits, in-flight requests and rejection counts,
+     * plus the number of active rate-limit buckets (Admin only).
+     */
+    @GetMapping("/limits")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Map<String, Object> concurrencyLimits() {
+        Map<String, Object> limits = new LinkedHashMap<>();
+        for (AdaptiveConcurrencyLimit limit : concurrencyLimitFilter.getLimits()) {
+            limits.put(limit.getName(), Map.of(
+                "limit", limit.getLimit(),
+                "inFlight", limit.getInFlight(),
+                "rejected", limit.getRejected(),
+                "baselineLatencyMs", limit.getLongRttMillis()
+            ));
+        }
+        limits.put("rateLimitBuckets", rateLimitFilter.getTrackedBuckets());
+        return limits;
+    }
+
+    /**
+     * Status write-behind counters: pending toggles, toggles received and rows written (Admin only).
+     */
+    @GetMapping("/write-behind")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Map<String, Object> statusWriteBehind() {
+        return statusWriteBehind.getStats();
+    }
 }
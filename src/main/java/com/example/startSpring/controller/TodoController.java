@@ -1,18 +1,29 @@
 package com.example.startSpring.controller;
 
 import com.example.startSpring.dto.ApiResponse;
+import com.example.startSpring.dto.ImportSummary;
+import com.example.startSpring.dto.TodoBatchResponse;
+import com.example.startSpring.model.ArchivedTodo;
 import com.example.startSpring.model.Todo;
+import com.example.startSpring.service.TodoArchiveService;
+import com.example.startSpring.service.TodoImportService;
 import com.example.startSpring.service.TodoService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
 
 /**
  * TodoController
@@ -27,6 +38,8 @@ import java.util.List;
 public class TodoController {
 
     private final TodoService todoService;
+    private final TodoImportService todoImportService;
+    private final TodoArchiveService todoArchiveService;
 
     // ----------------------------------------------------------------
     // PUBLIC ENDPOINTS (Well, authenticated users only)
@@ -42,6 +55,17 @@ public class TodoController {
         return ResponseEntity.ok(ApiResponse.success("Todos fetched successfully", listOfTodos));
     }
 
+    /**
+     * Get all todos, but only the requested fields, e.g. /api/v1/todos/all?fields=id,title,completed
+     * Handy for list views that don't need the (long) description.
+     */
+    @GetMapping(value = "/all", params = "fields")
+    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getAllTodos(@RequestParam String fields) {
+        log.info("Calling API endpoint to get all todos /api/v1/todos/all?fields={}", fields);
+        List<Map<String, Object>> listOfTodos = todoService.getAllTodos(fields);
+        return ResponseEntity.ok(ApiResponse.success("Todos fetched successfully", listOfTodos));
+    }
+
     /**
      * Get todos with pagination.
      */
@@ -56,6 +80,48 @@ public class TodoController {
         return ResponseEntity.ok(ApiResponse.success("Todos fetched successfully", todos));
     }
 
+    /**
+     * Get archived (old, completed) todos with pagination, newest archived first.
+     */
+    @GetMapping("/archive")
+    public ResponseEntity<ApiResponse<Page<ArchivedTodo>>> getArchivedTodos(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        log.info("Calling API endpoint to get archived todos");
+        Page<ArchivedTodo> todos = todoArchiveService.getArchivedTodos(page, size);
+        return ResponseEntity.ok(ApiResponse.success("Archived todos fetched successfully", todos));
+    }
+
+    /**
+     * Move an archived todo back into the normal todo list.
+     */
+    @PostMapping("/archive/{todoId}/restore")
+    public ResponseEntity<ApiResponse<Todo>> restoreTodo(@PathVariable Long todoId) {
+        Todo restoredTodo = todoArchiveService.restoreTodo(todoId);
+        return ResponseEntity.ok(ApiResponse.success("Todo restored successfully", restoredTodo));
+    }
+
+    /**
+     * Get several todos by ID in one call, e.g. /api/v1/todos?ids=1,2,3
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<ApiResponse<TodoBatchResponse>> getTodosByIds(@RequestParam List<Long> ids) {
+        log.info("Calling API endpoint to get {} todos by id", ids.size());
+        TodoBatchResponse todos = todoService.getTodosByIds(ids);
+        return ResponseEntity.ok(ApiResponse.success("Todos fetched successfully", todos));
+    }
+
+    /**
+     * Same as above, but the ids are sent in the body (for lists too long for a URL).
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<TodoBatchResponse>> getTodosByIdsFromBody(@RequestBody List<Long> ids) {
+        log.info("Calling API endpoint to get {} todos by id (POST)", ids.size());
+        TodoBatchResponse todos = todoService.getTodosByIds(ids);
+        return ResponseEntity.ok(ApiResponse.success("Todos fetched successfully", todos));
+    }
+
     /**
      * Get a single Todo by ID.
      */
@@ -80,6 +146,37 @@ public class TodoController {
         );
     }
 
+    /**
+     * Bulk import todos from an uploaded CSV or NDJSON file.
+     * The file is streamed row by row, so large uploads don't fill the heap.
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<ImportSummary>> importTodos(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) String format
+    ) throws IOException {
+        log.info("Calling API endpoint to import todos from file {}", file.getOriginalFilename());
+        TodoImportService.Format resolved = TodoImportService.Format.resolve(format, file.getOriginalFilename(), file.getContentType());
+        try (InputStream in = file.getInputStream()) {
+            ImportSummary summary = todoImportService.importTodos(in, resolved);
+            return ResponseEntity.ok(ApiResponse.success("Imported " + summary.getImported() + " of " + summary.getTotalRows() + " todos", summary));
+        }
+    }
+
+    /**
+     * Bulk import todos sent directly as the request body (text/csv or application/x-ndjson).
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ApiResponse<ImportSummary>> importTodosFromBody(
+            HttpServletRequest request,
+            @RequestParam(required = false) String format
+    ) throws IOException {
+        log.info("Calling API endpoint to import todos from request body");
+        TodoImportService.Format resolved = TodoImportService.Format.resolve(format, null, request.getContentType());
+        ImportSummary summary = todoImportService.importTodos(request.getInputStream(), resolved);
+        return ResponseEntity.ok(ApiResponse.success("Imported " + summary.getImported() + " of " + summary.getTotalRows() + " todos", summary));
+    }
+
     /**
      * Update an existing Todo.
      */
@@ -94,13 +191,25 @@ public class TodoController {
      */
     @PatchMapping("/{todoId}/status")
     public ResponseEntity<ApiResponse<Todo>> updateTodoStatus(@PathVariable Long todoId, @RequestBody Todo todo) {
-        // We can reuse editTodoById or create a specific method. 
-        // For simplicity, reusing editTodoById as it handles updates.
-        // In a real app, you might want a specific method to only update the status.
-        Todo updatedTodo = todoService.editTodoById(todoId, todo);
+        // Same as a full update, unless status write-behind is enabled (see TodoStatusWriteBehind)
+        Todo updatedTodo = todoService.updateTodoStatus(todoId, todo);
         return ResponseEntity.ok(ApiResponse.success("Todo status updated successfully", updatedTodo));
     }
 
+    /**
+     * Move a Todo in the user's list (drag and drop).
+     * after = id of the todo it should follow, before = id of the todo it should precede.
+     */
+    @PatchMapping("/{todoId}/move")
+    public ResponseEntity<ApiResponse<Todo>> moveTodo(
+            @PathVariable Long todoId,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Long before
+    ) {
+        Todo movedTodo = todoService.moveTodo(todoId, after, before);
+        return ResponseEntity.ok(ApiResponse.success("Todo moved successfully", movedTodo));
+    }
+
     // ----------------------------------------------------------------
     // ADMIN ONLY ENDPOINTS
     // ----------------------------------------------------------------
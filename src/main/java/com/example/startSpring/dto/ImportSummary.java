@@ -0,0 +1,29 @@
+package com.example.startSpring.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportSummary {
+    private long totalRows;
+    private long imported;
+    private long failed;
+    private long durationMs;
+    private long rowsPerSecond;
+    private List<RowError> errors; // Only the first N errors are kept so the response stays small
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class RowError {
+        private long row;
+        private String message;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.startSpring.dto;
+
+import com.example.startSpring.model.Todo;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TodoBatchResponse {
+    private List<Todo> found;      // In the same order as the requested ids
+    private List<Long> missingIds; // Ids that don't exist or belong to another user
+}
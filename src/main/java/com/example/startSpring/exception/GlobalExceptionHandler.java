@@ -1,6 +1,7 @@
 package com.example.startSpring.exception;
 
 import com.example.startSpring.dto.ApiResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -44,6 +45,32 @@ public class GlobalExceptionHandler {
         );
     }
 
+    // Handle Bad Input (e.g. too many ids, unknown import format)
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ApiResponse<Void>> handleIllegalArgumentException(IllegalArgumentException ex) {
+        return new ResponseEntity<>(
+                ApiResponse.error(ex.getMessage()),
+                HttpStatus.BAD_REQUEST
+        );
+    }
+
+    // Handle Duplicate Usernames
+    @ExceptionHandler(UsernameTakenException.class)
+    public ResponseEntity<ApiResponse<Void>> handleUsernameTakenException(UsernameTakenException ex) {
+        return new ResponseEntity<>(
+                ApiResponse.error(ex.getMessage()),
+                HttpStatus.CONFLICT
+        );
+    }
+
+    // Handle Temporary Overload (e.g. status updates can't be queued while the database is down)
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ApiResponse<Void>> handleServiceUnavailableException(ServiceUnavailableException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ApiResponse.error(ex.getMessage()));
+    }
+
     // Handle Generic Exceptions
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiResponse<Void>> handleGlobalException(Exception ex) {
@@ -0,0 +1,7 @@
+package com.example.startSpring.exception;
+
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.startSpring.exception;
+
+public class UsernameTakenException extends RuntimeException {
+    public UsernameTakenException(String username) {
+        super("Username '" + username + "' is already taken");
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.startSpring.limiter;
+
+import lombok.Getter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * AdaptiveConcurrencyLimit
+ * ------------------------
+ * A gradient-style concurrency limit (similar to Netflix's "Gradient2").
+ * It compares the short-term average latency with a long-term baseline:
+ * - latency stays flat  -> the limit grows slowly (by about sqrt(limit) per window)
+ * - latency goes up     -> the limit shrinks in proportion to the slowdown
+ * This keeps the number of in-flight requests close to what the database can actually handle,
+ * so extra requests are rejected quickly instead of queueing until they time out.
+ * <p>
+ * The hot path (tryAcquire/release) is lock-free; the limit is recalculated once per sample window
+ * by whichever thread closes the window.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    // How much slower than the baseline we accept before shrinking the limit
+    private static final double RTT_TOLERANCE = 1.5;
+    // How fast the limit moves towards the newly computed value
+    private static final double SMOOTHING = 0.2;
+    // Weight of every window in the long-term (baseline) latency average
+    private static final double LONG_RTT_WEIGHT = 0.05;
+
+    @Getter
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long windowNanos;
+    private final LongSupplier nanoClock;
+
+    // The limit is tracked as a double: at small limits a single window's growth is below 1,
+    // and truncating it every window would stop the limit from ever growing again.
+    private volatile double estimatedLimit;
+    private volatile int limit;
+    private volatile double longRttNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger windowMaxInFlight = new AtomicInteger();
+    private final AtomicLong windowStart;
+    private final LongAdder windowRttSum = new LongAdder();
+    private final LongAdder windowSamples = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public AdaptiveConcurrencyLimit(String name, int initialLimit, int minLimit, int maxLimit, long windowMillis) {
+        this(name, initialLimit, minLimit, maxLimit, windowMillis, System::nanoTime);
+    }
+
+    // Tests pass their own clock to control the sample windows
+    AdaptiveConcurrencyLimit(String name, int initialLimit, int minLimit, int maxLimit, long windowMillis, LongSupplier nanoClock) {
+        this.name = name;
+        this.nanoClock = nanoClock;
+        this.windowStart = new AtomicLong(nanoClock.getAsLong());
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.estimatedLimit = limit;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+    }
+
+    /**
+     * Try to take a slot. Returns false (and counts a rejection) when the limit is reached.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                windowMaxInFlight.accumulateAndGet(current + 1, Math::max);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Give the slot back and record how long the request took.
+     */
+    public void release(long rttNanos) {
+        inFlight.decrementAndGet();
+        windowRttSum.add(rttNanos);
+        windowSamples.increment();
+
+        long now = nanoClock.getAsLong();
+        long start = windowStart.get();
+        // Only one thread wins the CAS and recalculates the limit for this window
+        if (now - start >= windowNanos && windowStart.compareAndSet(start, now)) {
+            updateLimit();
+        }
+    }
+
+    private void updateLimit() {
+        long samples = windowSamples.sumThenReset();
+        long rttSum = windowRttSum.sumThenReset();
+        int maxInFlight = windowMaxInFlight.getAndSet(inFlight.get());
+        if (samples == 0) {
+            return;
+        }
+
+        double shortRtt = (double) rttSum / samples;
+        double longRtt = longRttNanos == 0 ? shortRtt : longRttNanos * (1 - LONG_RTT_WEIGHT) + shortRtt * LONG_RTT_WEIGHT;
+        // After an overload the baseline can stay too high; let it drift back down to reality.
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+        longRttNanos = longRtt;
+
+        double currentLimit = estimatedLimit;
+        double gradient = Math.max(0.5, Math.min(1.0, RTT_TOLERANCE * longRtt / shortRtt));
+        double newLimit = currentLimit * gradient + Math.sqrt(currentLimit);
+        newLimit = currentLimit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+
+        // Don't grow the limit if we never came close to using it (no evidence it's safe)
+        if (newLimit > currentLimit && maxInFlight < currentLimit / 2) {
+            return;
+        }
+        newLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        estimatedLimit = newLimit;
+        limit = (int) Math.round(newLimit);
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public double getLongRttMillis() {
+        return longRttNanos / 1_000_000.0;
+    }
+}
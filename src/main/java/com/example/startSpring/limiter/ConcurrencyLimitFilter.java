@@ -0,0 +1,122 @@
+package com.example.startSpring.limiter;
+
+import com.example.startSpring.dto.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * ConcurrencyLimitFilter
+ * ----------------------
+ * Load shedding for the API. Every endpoint group gets its own {@link AdaptiveConcurrencyLimit}:
+ * - /api/auth/**              (login/register, BCrypt is CPU heavy)
+ * - /api/v1/todos/** reads    (GET/HEAD)
+ * - /api/v1/todos/** writes   (everything else)
+ * - /api/v1/todos/import      (bulk imports run for minutes; kept apart so they don't
+ *                              skew the latency samples of normal writes)
+ * When a group is full the request is rejected right away with 503 + Retry-After,
+ * instead of waiting on a Tomcat thread until it times out.
+ */
+@Slf4j
+@Component
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final String retryAfterSeconds;
+    private final AdaptiveConcurrencyLimit authLimit;
+    private final AdaptiveConcurrencyLimit todoReadLimit;
+    private final AdaptiveConcurrencyLimit todoWriteLimit;
+    private final AdaptiveConcurrencyLimit todoImportLimit;
+
+    public ConcurrencyLimitFilter(
+            ObjectMapper objectMapper,
+            @Value("${todo.concurrency.enabled:true}") boolean enabled,
+            @Value("${todo.concurrency.retry-after-seconds:1}") int retryAfterSeconds,
+            @Value("${todo.concurrency.window-ms:250}") long windowMillis,
+            @Value("${todo.concurrency.auth.initial-limit:20}") int authInitial,
+            @Value("${todo.concurrency.auth.min-limit:2}") int authMin,
+            @Value("${todo.concurrency.auth.max-limit:100}") int authMax,
+            @Value("${todo.concurrency.todo-read.initial-limit:50}") int readInitial,
+            @Value("${todo.concurrency.todo-read.min-limit:5}") int readMin,
+            @Value("${todo.concurrency.todo-read.max-limit:200}") int readMax,
+            @Value("${todo.concurrency.todo-write.initial-limit:20}") int writeInitial,
+            @Value("${todo.concurrency.todo-write.min-limit:2}") int writeMin,
+            @Value("${todo.concurrency.todo-write.max-limit:100}") int writeMax,
+            @Value("${todo.concurrency.todo-import.initial-limit:4}") int importInitial,
+            @Value("${todo.concurrency.todo-import.min-limit:1}") int importMin,
+            @Value("${todo.concurrency.todo-import.max-limit:8}") int importMax
+    ) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.retryAfterSeconds = String.valueOf(retryAfterSeconds);
+        this.authLimit = new AdaptiveConcurrencyLimit("auth", authInitial, authMin, authMax, windowMillis);
+        this.todoReadLimit = new AdaptiveConcurrencyLimit("todo-read", readInitial, readMin, readMax, windowMillis);
+        this.todoWriteLimit = new AdaptiveConcurrencyLimit("todo-write", writeInitial, writeMin, writeMax, windowMillis);
+        this.todoImportLimit = new AdaptiveConcurrencyLimit("todo-import", importInitial, importMin, importMax, windowMillis);
+    }
+
+    public List<AdaptiveConcurrencyLimit> getLimits() {
+        return List.of(authLimit, todoReadLimit, todoWriteLimit, todoImportLimit);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled || limitFor(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        AdaptiveConcurrencyLimit limit = limitFor(request);
+        if (!limit.tryAcquire()) {
+            log.debug("Shedding {} {} ({} limit {} reached)", request.getMethod(), request.getRequestURI(), limit.getName(), limit.getLimit());
+            reject(response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            limit.release(System.nanoTime() - start);
+        }
+    }
+
+    private AdaptiveConcurrencyLimit limitFor(HttpServletRequest request) {
+        String path = request.getServletPath();
+        if (path.startsWith("/api/auth/")) {
+            return authLimit;
+        }
+        if (EndpointGroups.isTodoImport(path)) {
+            return todoImportLimit;
+        }
+        if (EndpointGroups.isTodoEndpoint(path)) {
+            return EndpointGroups.isTodoRead(request) ? todoReadLimit : todoWriteLimit;
+        }
+        return null;
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ApiResponse.error("Server is busy, please retry shortly"));
+    }
+}
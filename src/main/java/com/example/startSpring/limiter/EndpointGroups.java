@@ -0,0 +1,26 @@
+package com.example.startSpring.limiter;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Shared request classification for the concurrency and rate limit filters.
+ */
+final class EndpointGroups {
+
+    private EndpointGroups() {
+    }
+
+    static boolean isTodoEndpoint(String path) {
+        return path.equals("/api/v1/todos") || path.startsWith("/api/v1/todos/");
+    }
+
+    static boolean isTodoImport(String path) {
+        return path.equals("/api/v1/todos/import");
+    }
+
+    // GET/HEAD are reads, and so is the POST variant of the batch fetch
+    static boolean isTodoRead(HttpServletRequest request) {
+        String method = request.getMethod();
+        return "GET".equals(method) || "HEAD".equals(method) || request.getServletPath().equals("/api/v1/todos/batch");
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.startSpring.limiter;
+
+import com.example.startSpring.dto.ApiResponse;
+import com.example.startSpring.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RateLimitFilter
+ * ---------------
+ * Per-client request rate limiting, running right after the JwtAuthenticationFilter:
+ * - /api/auth/login and /api/auth/username-available are limited per client IP, each with its own
+ *   bucket (behind a proxy that is the X-Forwarded-For address, see server.forward-headers-strategy).
+ * - /api/v1/todos/** is limited per user (JWT subject), with limits depending on the user's role
+ *   and on the endpoint group ("todo-read" for GET/HEAD, "todo-write" for the rest).
+ * Every limited response carries RateLimit-Limit / RateLimit-Remaining / RateLimit-Reset headers.
+ * Over the limit we answer 429 Too Many Requests with Retry-After.
+ */
+@Slf4j
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+    private final TokenBucketStore buckets;
+
+    public RateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.buckets = new TokenBucketStore(properties.getStripes(), properties.getIdleEviction().toNanos());
+    }
+
+    public int getTrackedBuckets() {
+        return buckets.size();
+    }
+
+    @Scheduled(fixedDelayString = "${todo.rate-limit.sweep-interval-ms:5000}")
+    public void sweepIdleBuckets() {
+        buckets.sweep();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        String path = request.getServletPath();
+        String key;
+        RateLimitProperties.Limit limit;
+
+        if (path.equals("/api/auth/login")) {
+            key = "ip:" + request.getRemoteAddr();
+            limit = properties.getLogin();
+        } else if (path.equals("/api/auth/username-available")) {
+            key = "ip:" + request.getRemoteAddr() + "|username-check";
+            limit = properties.getUsernameCheck();
+        } else if (EndpointGroups.isTodoEndpoint(path)) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication == null || !(authentication.getPrincipal() instanceof User user)) {
+                // Not logged in: Spring Security will reject it anyway
+                filterChain.doFilter(request, response);
+                return;
+            }
+            String group = EndpointGroups.isTodoRead(request) ? "todo-read" : "todo-write";
+            key = "user:" + user.getUsername() + "|" + group;
+            limit = properties.limitFor(user.getRole(), group);
+        } else {
+            limit = null;
+            key = null;
+        }
+
+        if (limit == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        TokenBucketStore.Decision decision = buckets.tryConsume(key, limit.getCapacity(), limit.getPeriod().toNanos());
+        response.setHeader("RateLimit-Limit", String.valueOf(limit.getCapacity()));
+        response.setHeader("RateLimit-Remaining", String.valueOf(decision.remaining()));
+        response.setHeader("RateLimit-Reset", String.valueOf(toSecondsRoundedUp(decision.resetNanos())));
+
+        if (!decision.allowed()) {
+            log.debug("Rate limit exceeded for {}", key);
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(toSecondsRoundedUp(decision.resetNanos())));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), ApiResponse.error("Too many requests, please slow down"));
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private static long toSecondsRoundedUp(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+}
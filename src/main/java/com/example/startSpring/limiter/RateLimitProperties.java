@@ -0,0 +1,67 @@
+package com.example.startSpring.limiter;
+
+import com.example.startSpring.model.Role;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * RateLimitProperties
+ * -------------------
+ * Binds the "todo.rate-limit.*" settings from application.properties.
+ * Limits are configured per role and endpoint group, e.g.
+ * todo.rate-limit.roles.USER.todo-write.capacity=30
+ * todo.rate-limit.roles.USER.todo-write.period=1m
+ */
+@Data
+@Component
+@Validated
+@ConfigurationProperties(prefix = "todo.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Buckets untouched for this long are dropped (an idle bucket is full anyway).
+    private Duration idleEviction = Duration.ofMinutes(10);
+
+    // Number of independent hash maps the buckets are spread over (power of two).
+    private int stripes = 16;
+
+    // /api/auth/login is limited per client IP, because there is no user yet.
+    @Valid
+    private Limit login = new Limit(10, Duration.ofMinutes(1));
+
+    // /api/auth/username-available is public too: limited per client IP so names can't be enumerated.
+    @Valid
+    private Limit usernameCheck = new Limit(30, Duration.ofMinutes(1));
+
+    private Map<Role, Map<String, @Valid Limit>> roles = new EnumMap<>(Role.class);
+
+    public Limit limitFor(Role role, String group) {
+        return roles.getOrDefault(role, new HashMap<>()).get(group);
+    }
+
+    /**
+     * A bucket holding up to "capacity" tokens that refills completely once per "period".
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        @Min(1)
+        private int capacity;
+        @NotNull
+        private Duration period;
+    }
+}
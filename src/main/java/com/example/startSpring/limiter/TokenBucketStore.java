@@ -0,0 +1,96 @@
+package com.example.startSpring.limiter;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * TokenBucketStore
+ * ----------------
+ * Lock-free token buckets, one per key (e.g. "user:alice|todo-write").
+ * <p>
+ * Each bucket is a single AtomicLong holding its "theoretical arrival time" (the GCRA form of a
+ * token bucket): taking a token moves that time forward by period/capacity, and the request is
+ * allowed as long as it stays within one period of "now". Updates are a single CAS, no locks.
+ * <p>
+ * Buckets are spread over several maps (stripes). {@link #sweep()} is called from a background
+ * thread every few seconds; each call sweeps one stripe and removes buckets that have been idle
+ * for longer than the eviction time, so memory only grows with the number of *active* clients
+ * and request threads never pay for the cleanup.
+ */
+public class TokenBucketStore {
+
+    /**
+     * Outcome of a single tryConsume call. resetNanos is the time until the bucket is full again
+     * (or, when rejected, until the next token is available).
+     */
+    public record Decision(boolean allowed, long remaining, long resetNanos) {
+    }
+
+    private final ConcurrentHashMap<String, AtomicLong>[] stripes;
+    private final int stripeMask;
+    private final long idleNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicInteger nextStripeToSweep = new AtomicInteger();
+
+    public TokenBucketStore(int stripeCount, long idleNanos) {
+        this(stripeCount, idleNanos, System::nanoTime);
+    }
+
+    // Tests pass their own clock to control time
+    @SuppressWarnings("unchecked")
+    TokenBucketStore(int stripeCount, long idleNanos, LongSupplier nanoClock) {
+        int size = stripeCount <= 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+        this.stripes = new ConcurrentHashMap[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+        this.stripeMask = size - 1;
+        this.idleNanos = idleNanos;
+        this.nanoClock = nanoClock;
+    }
+
+    public Decision tryConsume(String key, int capacity, long periodNanos) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Bucket capacity must be positive");
+        }
+        long now = nanoClock.getAsLong();
+        long emission = periodNanos / capacity;
+        AtomicLong bucket = stripeFor(key).computeIfAbsent(key, k -> new AtomicLong(now));
+        while (true) {
+            long tat = bucket.get();
+            long newTat = Math.max(tat, now) + emission;
+            long used = newTat - now;
+            if (used > periodNanos) {
+                return new Decision(false, 0, used - periodNanos);
+            }
+            if (bucket.compareAndSet(tat, newTat)) {
+                return new Decision(true, (periodNanos - used) / emission, used);
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    private ConcurrentHashMap<String, AtomicLong> stripeFor(String key) {
+        int h = key.hashCode();
+        return stripes[(h ^ (h >>> 16)) & stripeMask];
+    }
+
+    /**
+     * Removes idle buckets from the next stripe (round robin).
+     */
+    public void sweep() {
+        int index = nextStripeToSweep.getAndIncrement() & stripeMask;
+        long cutoff = nanoClock.getAsLong() - idleNanos;
+        // A bucket whose arrival time is in the past is full, so dropping it doesn't change any limit.
+        stripes[index].values().removeIf(bucket -> bucket.get() < cutoff);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.startSpring.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * A completed todo that was moved out of the "todos" table by the archival job.
+ * It keeps the original id, so it can be restored later.
+ * Columns mirror {@link Todo}, the archive and restore queries copy them one to one.
+ */
+@Entity
+@Table(name = "todos_archive", indexes = {
+        @Index(name = "idx_todos_archive_user", columnList = "user_id")
+})
+@Data
+public class ArchivedTodo {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String title;
+
+    private boolean completed;
+
+    private String description;
+
+    @Column(name = "sort_rank", length = 128)
+    private String rank;
+
+    private LocalDateTime completedAt;
+
+    private LocalDateTime archivedAt;
+
+    @Column(name = "user_id")
+    @JsonIgnore
+    private Long userId;
+}
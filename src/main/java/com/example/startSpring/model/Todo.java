@@ -1,13 +1,21 @@
 package com.example.startSpring.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
 
+import java.time.LocalDateTime;
+
 @Entity
-@Table(name = "todos")
+@Table(name = "todos", indexes = {
+        // Lists are read per user in rank order
+        @Index(name = "idx_todos_user_rank", columnList = "user_id, sort_rank"),
+        // The archival job looks for completed todos older than a cutoff
+        @Index(name = "idx_todos_completed_at", columnList = "completed, completed_at")
+})
 @Data
 public class Todo {
 
@@ -25,9 +33,30 @@ public class Todo {
     @Size(max = 800, message = "Description cannot exceed 800 characters")
     private String description;
 
+    // When the todo was marked as completed (null while open). Maintained by setCompleted.
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private LocalDateTime completedAt;
+
+    // Manual sort order (see FractionalRank). "rank" is a reserved word in MySQL, hence the column name.
+    // Set by the server only: on create, and through the /move endpoint.
+    // Not updatable: after the insert it only changes through TodoRepository.updateRank*, so saving
+    // an entity loaded earlier can't put back a stale rank.
+    @Column(name = "sort_rank", length = 128, updatable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String rank;
+
     // Link Todo to User (Many Todos belong to One User)
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     @JsonIgnore // Don't include the full user object in the JSON response (prevents infinite loops)
     private User user;
+
+    public void setCompleted(boolean completed) {
+        if (completed && !this.completed) {
+            completedAt = LocalDateTime.now();
+        } else if (!completed) {
+            completedAt = null;
+        }
+        this.completed = completed;
+    }
 }
@@ -0,0 +1,37 @@
+package com.example.startSpring.repository;
+
+import com.example.startSpring.model.ArchivedTodo;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface ArchivedTodoRepository extends JpaRepository<ArchivedTodo, Long> {
+    Page<ArchivedTodo> findByUserId(Long userId, Pageable pageable);
+
+    // Copy one completed, old enough id range from the hot table into the archive (same ids)
+    @Modifying
+    @Query(value = """
+            insert into todos_archive (id, title, completed, description, sort_rank, completed_at, archived_at, user_id)
+            select id, title, completed, description, sort_rank, completed_at, :now, user_id
+            from todos
+            where id >= :fromId and id < :toId and completed = true and completed_at < :cutoff
+            """, nativeQuery = true)
+    int copyToArchive(long fromId, long toId, LocalDateTime cutoff, LocalDateTime now);
+
+    // Copy one archived todo back into the hot table (same id). completed_at is reset,
+    // otherwise the next archival run would move it straight back.
+    @Modifying
+    @Query(value = """
+            insert into todos (id, title, completed, description, sort_rank, completed_at, user_id)
+            select id, title, completed, description, sort_rank, :now, user_id
+            from todos_archive
+            where id = :id
+            """, nativeQuery = true)
+    int copyToTodos(long id, LocalDateTime now);
+}
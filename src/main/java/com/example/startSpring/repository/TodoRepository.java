@@ -2,12 +2,73 @@ package com.example.startSpring.repository;
 
 import com.example.startSpring.model.Todo;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TodoRepository extends JpaRepository<Todo, Long> {
     // Find all todos that belong to a specific user ID
     List<Todo> findByUserId(Long userId);
+
+    // Fetch several todos of one user in a single "id IN (...)" query
+    List<Todo> findByIdInAndUserId(Collection<Long> ids, Long userId);
+
+    // Same, in the user's manual (drag and drop) order - uses the (user_id, sort_rank) index
+    List<Todo> findByUserIdOrderByRankAsc(Long userId);
+
+    // Last todo in the user's list, new todos are appended after it
+    Optional<Todo> findFirstByUserIdOrderByRankDesc(Long userId);
+
+    // Direct neighbours of a rank, used when only one side of a move is given
+    Optional<Todo> findFirstByUserIdAndRankGreaterThanOrderByRankAsc(Long userId, String rank);
+
+    Optional<Todo> findFirstByUserIdAndRankLessThanOrderByRankDesc(Long userId, String rank);
+
+    // Users whose ranks are missing (old rows) or got too long from repeated moves.
+    // Scans the whole table, so it only runs once at startup (see TodoRankRebalancer).
+    @Query("select distinct t.user.id from Todo t where t.rank is null or length(t.rank) > :maxLength")
+    List<Long> findUserIdsNeedingRebalance(int maxLength);
+
+    // Rank-only writes, so a move or rebalance never overwrites other columns changed in the meantime
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Todo t set t.rank = :rank where t.id = :id")
+    int updateRank(Long id, String rank);
+
+    // Same, but only if the rank is still the one we read (null is passed as "")
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Todo t set t.rank = :rank where t.id = :id and coalesce(t.rank, '') = :expectedRank")
+    int updateRankIfUnchanged(Long id, String expectedRank, String rank);
+
+    // First todo at or after fromId that the archival job should move (uses the (completed, completed_at) index),
+    // so the job jumps over id ranges with nothing to archive
+    @Query("select min(t.id) from Todo t where t.id >= :fromId and t.completed = true and t.completedAt < :cutoff")
+    Long findNextArchivableId(long fromId, LocalDateTime cutoff);
+
+    // Second half of archiving a range: same condition as ArchivedTodoRepository.copyToArchive
+    @Modifying
+    @Query("delete from Todo t where t.id >= :fromId and t.id < :toId and t.completed = true and t.completedAt < :cutoff")
+    int deleteArchivedRange(long fromId, long toId, LocalDateTime cutoff);
+
+    // Completed todos from before completedAt existed get "now", in small chunks (MySQL UPDATE ... LIMIT)
+    @Modifying
+    @Query(value = "update todos set completed_at = :now where completed = true and completed_at is null limit :limit", nativeQuery = true)
+    int backfillCompletedAt(LocalDateTime now, int limit);
+
+    // Batched status writes for TodoStatusWriteBehind; rows already in the target state are skipped
+    @Modifying
+    @Query("update Todo t set t.completed = true, t.completedAt = :completedAt where t.id in :ids and t.completed = false")
+    int markCompleted(Collection<Long> ids, LocalDateTime completedAt);
+
+    @Modifying
+    @Query("update Todo t set t.completed = false, t.completedAt = null where t.id in :ids and t.completed = true")
+    int markOpen(Collection<Long> ids);
 }
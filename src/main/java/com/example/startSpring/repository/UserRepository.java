@@ -1,9 +1,22 @@
 package com.example.startSpring.repository;
 
 import com.example.startSpring.model.User;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
+
+    // Streams usernames row by row (MySQL only streams with fetch size Integer.MIN_VALUE).
+    // Must be called inside a transaction, and the Stream must be closed.
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("select u.username from User u")
+    Stream<String> streamAllUsernames();
 }
@@ -3,11 +3,13 @@ package com.example.startSpring.service;
 import com.example.startSpring.dto.AuthenticationRequest;
 import com.example.startSpring.dto.AuthenticationResponse;
 import com.example.startSpring.dto.RegisterRequest;
+import com.example.startSpring.exception.UsernameTakenException;
 import com.example.startSpring.model.Role;
 import com.example.startSpring.model.User;
 import com.example.startSpring.repository.UserRepository;
 import com.example.startSpring.security.JwtService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -22,8 +24,26 @@ public class AuthenticationService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final UsernameBloomFilter usernameFilter;
+
+    public boolean isUsernameAvailable(String username) {
+        // Bloom filter says "definitely not registered" -> no database query needed
+        if (!usernameFilter.mightContain(username)) {
+            return true;
+        }
+        return repository.findByUsername(username).isEmpty();
+    }
 
     public AuthenticationResponse register(RegisterRequest request) {
+        if (request.getUsername() == null || request.getUsername().isBlank()
+                || request.getPassword() == null || request.getPassword().isBlank()) {
+            throw new IllegalArgumentException("Username and password are required");
+        }
+        // Check before hashing: BCrypt is deliberately slow, don't spend it on a doomed registration
+        if (!isUsernameAvailable(request.getUsername())) {
+            throw new UsernameTakenException(request.getUsername());
+        }
+
         // If no role is provided, default to USER
         Role role = (request.getRole() == null) ? Role.USER : request.getRole();
 
@@ -32,7 +52,13 @@ public class AuthenticationService {
                 .password(passwordEncoder.encode(request.getPassword()))
                 .role(role)
                 .build();
-        repository.save(user);
+        try {
+            repository.save(user);
+        } catch (DataIntegrityViolationException ex) {
+            // Two registrations for the same name raced past the check above; the unique constraint decides
+            throw new UsernameTakenException(request.getUsername());
+        }
+        usernameFilter.put(user.getUsername());
         var jwtToken = jwtService.generateToken(user);
         return AuthenticationResponse.builder()
                 .token(jwtToken)
@@ -0,0 +1,73 @@
+package com.example.startSpring.service;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads text line by line like BufferedReader.readLine(), but never keeps more than
+ * maxLineChars of one line in memory. A longer line is skipped up to its line break and
+ * reported with an IllegalArgumentException, so the next call continues on the following line.
+ * A UTF-8 byte order mark (added by Excel) at the start of the input is dropped.
+ */
+final class BoundedLineReader {
+
+    private final Reader reader;
+    private final int maxLineChars;
+    private final char[] buffer = new char[8192];
+    private final StringBuilder line = new StringBuilder();
+    private int position;
+    private int limit;
+    private boolean firstLine = true;
+
+    BoundedLineReader(Reader reader, int maxLineChars) {
+        this.reader = reader;
+        this.maxLineChars = maxLineChars;
+    }
+
+    /**
+     * The next line without its line break (\n or \r\n), or null at end of input.
+     */
+    String readLine() throws IOException {
+        line.setLength(0);
+        boolean readAnything = false;
+        boolean tooLong = false;
+        while (true) {
+            if (position >= limit) {
+                limit = reader.read(buffer, 0, buffer.length);
+                position = 0;
+                if (limit < 0) {
+                    limit = 0;
+                    if (!readAnything) {
+                        return null;
+                    }
+                    break;
+                }
+                continue;
+            }
+            char c = buffer[position++];
+            readAnything = true;
+            if (c == '\n') {
+                break;
+            }
+            if (line.length() >= maxLineChars) {
+                tooLong = true; // Keep reading (and discarding) until the line ends
+            } else {
+                line.append(c);
+            }
+        }
+        if (firstLine) {
+            firstLine = false;
+            if (line.length() > 0 && line.charAt(0) == '\uFEFF') {
+                line.deleteCharAt(0);
+            }
+        }
+        if (tooLong) {
+            throw new IllegalArgumentException("Line is longer than " + maxLineChars + " characters");
+        }
+        int length = line.length();
+        if (length > 0 && line.charAt(length - 1) == '\r') {
+            line.setLength(length - 1);
+        }
+        return line.toString();
+    }
+}
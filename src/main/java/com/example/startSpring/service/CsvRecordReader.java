@@ -0,0 +1,71 @@
+package com.example.startSpring.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads CSV records (RFC 4180 style quoting) one at a time:
+ * fields are separated by commas, may be wrapped in double quotes, "" inside quotes is a
+ * literal quote, and a quoted field may span several lines.
+ */
+final class CsvRecordReader {
+
+    private final BoundedLineReader lines;
+    private final int maxFieldChars;
+
+    CsvRecordReader(BoundedLineReader lines, int maxFieldChars) {
+        this.lines = lines;
+        this.maxFieldChars = maxFieldChars;
+    }
+
+    /**
+     * The fields of the next record, or null at end of input.
+     * Throws IllegalArgumentException when the rest of the input can't be parsed reliably
+     * (unterminated quote, line or field too long).
+     */
+    List<String> readRecord() throws IOException {
+        String line = lines.readLine();
+        if (line == null) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean inQuotes = false;
+        while (true) {
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (inQuotes) {
+                    if (c == '"') {
+                        if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                            field.append('"');
+                            i++;
+                        } else {
+                            inQuotes = false;
+                        }
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    inQuotes = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            if (!inQuotes) {
+                break;
+            }
+            // Quoted field continues on the next line
+            line = lines.readLine();
+            if (line == null || field.length() > maxFieldChars) {
+                throw new IllegalArgumentException("Unterminated quoted field");
+            }
+            field.append('\n');
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
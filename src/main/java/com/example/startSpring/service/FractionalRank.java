@@ -0,0 +1,111 @@
+package com.example.startSpring.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * FractionalRank
+ * --------------
+ * Helpers for the string ranks used to order todos manually (drag and drop).
+ * A rank is a base-36 "decimal fraction" written with 0-9a-z, compared as a plain string.
+ * Between any two ranks there is always room for another one, so moving a todo only
+ * rewrites that single row instead of renumbering the whole list.
+ * <p>
+ * Only lowercase letters are used so the order is the same in Java and in MySQL's
+ * case-insensitive collations. Ranks never end with '0', which guarantees there is
+ * always space *below* any rank as well.
+ */
+public final class FractionalRank {
+
+    private static final String DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz";
+    private static final int BASE = DIGITS.length();
+
+    // Width used for appended ranks, gives plenty of room before the length grows
+    private static final int APPEND_WIDTH = 6;
+
+    private FractionalRank() {
+    }
+
+    /**
+     * A rank strictly between lower and upper. Either side may be null (= start / end of the list).
+     */
+    public static String between(String lower, String upper) {
+        String lo = lower == null ? "" : lower;
+        String hi = upper;
+        if (hi != null && lo.compareTo(hi) >= 0) {
+            throw new IllegalArgumentException("Lower rank must come before upper rank");
+        }
+        StringBuilder rank = new StringBuilder();
+        for (int i = 0; ; i++) {
+            int l = i < lo.length() ? DIGITS.indexOf(lo.charAt(i)) : 0;
+            int h = (hi != null && i < hi.length()) ? DIGITS.indexOf(hi.charAt(i)) : BASE;
+            if (l == h) {
+                // Still inside the common prefix
+                rank.append(DIGITS.charAt(l));
+                continue;
+            }
+            int mid = (l + h) / 2;
+            if (mid > l) {
+                return rank.append(DIGITS.charAt(mid)).toString();
+            }
+            // Adjacent digits: keep the lower one, from here on only the lower bound matters
+            rank.append(DIGITS.charAt(l));
+            hi = null;
+        }
+    }
+
+    /**
+     * The next rank after previous, used when appending to the end of a list.
+     * It increments the last digit (like a counter) so appending doesn't grow the rank.
+     */
+    public static String after(String previous) {
+        if (previous == null) {
+            return "i00001";
+        }
+        StringBuilder digits = new StringBuilder(previous);
+        while (digits.length() < APPEND_WIDTH) {
+            digits.append('0');
+        }
+        do {
+            int i = digits.length() - 1;
+            while (i >= 0 && digits.charAt(i) == 'z') {
+                digits.setCharAt(i, '0');
+                i--;
+            }
+            if (i < 0) {
+                // Ran out of room at this width (all "z"), just go one level deeper
+                return previous + "i";
+            }
+            digits.setCharAt(i, DIGITS.charAt(DIGITS.indexOf(digits.charAt(i)) + 1));
+        } while (digits.charAt(digits.length() - 1) == '0');
+        return digits.toString();
+    }
+
+    /**
+     * count ranks spread evenly over the whole range, used to rebalance a list whose ranks got long.
+     */
+    public static List<String> spread(int count) {
+        int width = 1;
+        long slots = BASE;
+        while (slots < (long) (count + 1) * BASE) {
+            width++;
+            slots *= BASE;
+        }
+        List<String> ranks = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            long value = slots * i / (count + 1);
+            char[] chars = new char[width];
+            for (int pos = width - 1; pos >= 0; pos--) {
+                chars[pos] = DIGITS.charAt((int) (value % BASE));
+                value /= BASE;
+            }
+            // Dropping trailing zeros keeps the order and the "never ends with 0" rule
+            int end = width;
+            while (end > 1 && chars[end - 1] == '0') {
+                end--;
+            }
+            ranks.add(new String(chars, 0, end));
+        }
+        return ranks;
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.startSpring.service;
+
+import com.example.startSpring.model.ArchivedTodo;
+import com.example.startSpring.model.Role;
+import com.example.startSpring.model.Todo;
+import com.example.startSpring.model.User;
+import com.example.startSpring.repository.ArchivedTodoRepository;
+import com.example.startSpring.repository.TodoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * TodoArchiveService
+ * ------------------
+ * Keeps the "todos" table small by moving old completed todos to "todos_archive".
+ * The job seeks from one archivable id to the next and moves small id chunks starting there,
+ * each chunk in its own short transaction (copy + delete). It pauses after every chunk that
+ * moved rows, so live traffic always gets a turn; empty id ranges cost neither time nor queries.
+ * Normal todo endpoints only read the hot table; archived todos are available
+ * through /api/v1/todos/archive and can be restored.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TodoArchiveService {
+
+    private final TodoRepository todoRepository;
+    private final ArchivedTodoRepository archivedTodoRepository;
+    private final TodoService todoService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${todo.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${todo.archive.after:30d}")
+    private Duration archiveAfter;
+
+    @Value("${todo.archive.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${todo.archive.pause-ms:200}")
+    private long pauseMillis;
+
+    @Scheduled(cron = "${todo.archive.cron:0 30 3 * * *}")
+    public void archiveCompletedTodos() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        backfillCompletedAt(now);
+
+        LocalDateTime cutoff = now.minus(archiveAfter);
+        long archived = 0;
+        Long fromId = todoRepository.findNextArchivableId(0, cutoff);
+        while (fromId != null) {
+            int moved = archiveChunk(fromId, fromId + chunkSize, cutoff, now);
+            archived += moved;
+            if (moved > 0 && !pause()) {
+                break;
+            }
+            fromId = todoRepository.findNextArchivableId(fromId + chunkSize, cutoff);
+        }
+        log.info("Archived {} completed todos older than {}", archived, cutoff);
+    }
+
+    // Moves one id range [fromId, toId) in a single short transaction
+    private int archiveChunk(long fromId, long toId, LocalDateTime cutoff, LocalDateTime now) {
+        Integer moved = transactionTemplate.execute(status -> {
+            int copied = archivedTodoRepository.copyToArchive(fromId, toId, cutoff, now);
+            int deleted = todoRepository.deleteArchivedRange(fromId, toId, cutoff);
+            if (copied != deleted) {
+                // Something changed under us, roll back this chunk and let the next run retry it
+                status.setRollbackOnly();
+                log.warn("Archive chunk [{}, {}) copied {} but deleted {} rows, rolled back", fromId, toId, copied, deleted);
+                return 0;
+            }
+            return copied;
+        });
+        return moved == null ? 0 : moved;
+    }
+
+    // Older rows have no completedAt yet; give them one so they age out like everything else.
+    private void backfillCompletedAt(LocalDateTime now) {
+        int updated;
+        do {
+            updated = transactionTemplate.execute(status -> todoRepository.backfillCompletedAt(now, chunkSize));
+        } while (updated == chunkSize && pause());
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(pauseMillis);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public Page<ArchivedTodo> getArchivedTodos(int page, int size) {
+        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "archivedAt"));
+        User currentUser = todoService.getCurrentUser();
+        // If Admin, show all. If User, show only theirs.
+        if (currentUser.getRole() == Role.ADMIN) {
+            return archivedTodoRepository.findAll(pageable);
+        }
+        return archivedTodoRepository.findByUserId(currentUser.getId(), pageable);
+    }
+
+    public Todo restoreTodo(Long id) {
+        ArchivedTodo archivedTodo = archivedTodoRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Archived todo not found"));
+
+        // Check ownership
+        User currentUser = todoService.getCurrentUser();
+        if (currentUser.getRole() != Role.ADMIN && !archivedTodo.getUserId().equals(currentUser.getId())) {
+            throw new RuntimeException("You are not allowed to restore this todo");
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            archivedTodoRepository.copyToTodos(id, LocalDateTime.now());
+            archivedTodoRepository.deleteById(id);
+        });
+        return todoRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Todo not found"));
+    }
+}
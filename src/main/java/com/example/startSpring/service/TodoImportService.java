@@ -0,0 +1,307 @@
+package com.example.startSpring.service;
+
+import com.example.startSpring.dto.ImportSummary;
+import com.example.startSpring.model.Todo;
+import com.example.startSpring.model.User;
+import com.example.startSpring.repository.TodoRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * TodoImportService
+ * -----------------
+ * Imports large CSV or NDJSON files of todos for the current user.
+ * The file is read line by line (never fully in memory), every row is validated
+ * with the same constraints as {@link Todo}, and valid rows are written in
+ * fixed-size transactions. The persistence context is flushed and cleared after
+ * every batch so heap usage stays flat no matter how big the file is.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TodoImportService {
+
+    // A single quoted CSV field may span lines; cap it so a missing quote can't buffer the whole file.
+    private static final int MAX_FIELD_CHARS = 10_000;
+
+    private final TodoService todoService;
+    private final TodoRepository todoRepository;
+    private final TodoRankRebalancer rankRebalancer;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+
+    @Value("${todo.import.batch-size:500}")
+    private int batchSize;
+
+    // Longest accepted line; protects the heap from files without line breaks
+    @Value("${todo.import.max-line-chars:16384}")
+    private int maxLineChars;
+
+    @Value("${todo.import.max-reported-errors:100}")
+    private int maxReportedErrors;
+
+    @Value("${todo.import.target-rows-per-second:2000}")
+    private long targetRowsPerSecond;
+
+    public enum Format {
+        CSV,
+        NDJSON;
+
+        // Explicit ?format= wins, then the file extension, then the content type.
+        public static Format resolve(String format, String fileName, String contentType) {
+            if (format != null && !format.isBlank()) {
+                return Format.valueOf(format.trim().toUpperCase(Locale.ROOT));
+            }
+            String name = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+            if (name.endsWith(".csv")) {
+                return CSV;
+            }
+            if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+                return NDJSON;
+            }
+            String type = contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+            if (type.startsWith("text/csv")) {
+                return CSV;
+            }
+            if (type.contains("ndjson") || type.contains("jsonl")) {
+                return NDJSON;
+            }
+            throw new IllegalArgumentException("Unable to detect import format, use ?format=csv or ?format=ndjson");
+        }
+    }
+
+    public ImportSummary importTodos(InputStream inputStream, Format format) throws IOException {
+        User currentUser = todoService.getCurrentUser();
+        ImportRun run = new ImportRun(currentUser.getId());
+        // Imported todos are appended to the end of the user's list, in file order
+        run.lastRank = todoRepository.findFirstByUserIdOrderByRankDesc(currentUser.getId())
+                .map(Todo::getRank)
+                .orElse(null);
+        long start = System.nanoTime();
+
+        try (InputStreamReader input = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
+            BoundedLineReader reader = new BoundedLineReader(input, maxLineChars);
+            if (format == Format.CSV) {
+                readCsv(new CsvRecordReader(reader, MAX_FIELD_CHARS), run);
+            } else {
+                readNdjson(reader, run);
+            }
+        }
+        run.flush();
+        rankRebalancer.trackRank(currentUser.getId(), run.lastRank);
+
+        long durationMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        long rowsPerSecond = run.totalRows * 1000 / durationMs;
+        log.info("Imported {} of {} todos for user {} in {} ms ({} rows/sec)",
+                run.imported, run.totalRows, currentUser.getUsername(), durationMs, rowsPerSecond);
+        if (run.totalRows >= batchSize && rowsPerSecond < targetRowsPerSecond) {
+            log.warn("Import throughput {} rows/sec is below the target of {} rows/sec", rowsPerSecond, targetRowsPerSecond);
+        }
+
+        return ImportSummary.builder()
+                .totalRows(run.totalRows)
+                .imported(run.imported)
+                .failed(run.failed)
+                .durationMs(durationMs)
+                .rowsPerSecond(rowsPerSecond)
+                .errors(run.errors)
+                .build();
+    }
+
+    private void readNdjson(BoundedLineReader reader, ImportRun run) throws IOException {
+        ObjectReader todoReader = objectMapper.readerFor(Todo.class);
+        long row = 0;
+        while (true) {
+            String line;
+            try {
+                line = reader.readLine();
+            } catch (IllegalArgumentException ex) {
+                // Line too long: it was skipped, carry on with the next one
+                run.reject(++row, ex.getMessage());
+                continue;
+            }
+            if (line == null) {
+                return;
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+            row++;
+            try {
+                Todo todo = todoReader.readValue(line);
+                if (todo == null) {
+                    // A literal "null" line is valid JSON but not a todo
+                    run.reject(row, "Row must be a JSON object");
+                    continue;
+                }
+                run.accept(row, todo);
+            } catch (JsonProcessingException ex) {
+                run.reject(row, "Invalid JSON: " + ex.getOriginalMessage());
+            }
+        }
+    }
+
+    private void readCsv(CsvRecordReader reader, ImportRun run) throws IOException {
+        List<String> header = reader.readRecord();
+        if (header == null) {
+            return;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        Integer titleColumn = columns.get("title");
+        Integer descriptionColumn = columns.get("description");
+        Integer completedColumn = columns.get("completed");
+        if (titleColumn == null) {
+            throw new IllegalArgumentException("CSV header must contain a 'title' column");
+        }
+
+        long row = 0;
+        while (true) {
+            List<String> fields;
+            try {
+                fields = reader.readRecord();
+            } catch (IllegalArgumentException ex) {
+                // The rest of the file can't be parsed reliably, so stop here and report what we have.
+                run.reject(row + 1, ex.getMessage());
+                return;
+            }
+            if (fields == null) {
+                return;
+            }
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            row++;
+            Todo todo = new Todo();
+            todo.setTitle(field(fields, titleColumn));
+            String description = field(fields, descriptionColumn);
+            todo.setDescription(description == null || description.isEmpty() ? null : description);
+            String completed = field(fields, completedColumn);
+            todo.setCompleted(completed != null && Boolean.parseBoolean(completed.trim()));
+            run.accept(row, todo);
+        }
+    }
+
+    private static String field(List<String> fields, Integer column) {
+        return (column == null || column >= fields.size()) ? null : fields.get(column);
+    }
+
+    /**
+     * Mutable state of one import: the pending batch plus counters for the summary.
+     */
+    private final class ImportRun {
+        private final Long ownerId;
+        private final List<Todo> batch = new ArrayList<>();
+        private final List<Long> batchRows = new ArrayList<>();
+        private final List<ImportSummary.RowError> errors = new ArrayList<>();
+        private long totalRows;
+        private long imported;
+        private long failed;
+        private long lastRow;
+        private String lastRank;
+
+        private ImportRun(Long ownerId) {
+            this.ownerId = ownerId;
+        }
+
+        void accept(long row, Todo todo) {
+            totalRows++;
+            lastRow = row;
+            todo.setId(null); // Imports always create new todos
+            Set<ConstraintViolation<Todo>> violations = validator.validate(todo);
+            if (!violations.isEmpty()) {
+                failed++;
+                addError(row, violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                return;
+            }
+            lastRank = FractionalRank.after(lastRank);
+            todo.setRank(lastRank);
+            batch.add(todo);
+            batchRows.add(row);
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(long row, String message) {
+            totalRows++;
+            failed++;
+            addError(row, message);
+        }
+
+        void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                persist(batch);
+                imported += batch.size();
+            } catch (RuntimeException ex) {
+                // Something in the batch was rejected by the database: retry row by row to find it
+                log.warn("Import batch ending at row {} failed, retrying row by row: {}", lastRow, ex.getMessage());
+                for (int i = 0; i < batch.size(); i++) {
+                    Todo todo = batch.get(i);
+                    todo.setId(null); // May have been assigned by the rolled back insert
+                    try {
+                        persist(List.of(todo));
+                        imported++;
+                    } catch (RuntimeException rowEx) {
+                        failed++;
+                        addError(batchRows.get(i), NestedExceptionUtils.getMostSpecificCause(rowEx).getMessage());
+                    }
+                }
+            }
+            batch.clear();
+            batchRows.clear();
+            log.debug("Import progress: {} rows read, {} imported, {} failed", totalRows, imported, failed);
+        }
+
+        private void persist(List<Todo> todos) {
+            transactionTemplate.executeWithoutResult(status -> {
+                // A reference is enough for the foreign key, no need to load the user again
+                User owner = entityManager.getReference(User.class, ownerId);
+                for (Todo todo : todos) {
+                    todo.setUser(owner);
+                    entityManager.persist(todo);
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+
+        private void addError(long row, String message) {
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ImportSummary.RowError(row, message));
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.startSpring.service;
+
+import com.example.startSpring.model.Todo;
+import com.example.startSpring.repository.TodoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * TodoRankRebalancer
+ * ------------------
+ * Repeatedly dropping todos into the same gap makes their ranks longer and longer.
+ * Every place that writes a rank reports it through trackRank(); users whose ranks got too long
+ * are queued, and this background job spreads their ranks evenly again. Todos created before
+ * manual ordering existed (no rank) are found once at startup.
+ * The order of the list doesn't change, only the rank strings do.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TodoRankRebalancer {
+
+    private final TodoRepository todoRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Set<Long> pendingUserIds = ConcurrentHashMap.newKeySet();
+
+    @Value("${todo.rank.max-length:24}")
+    private int maxRankLength;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void findListsNeedingRebalance() {
+        pendingUserIds.addAll(todoRepository.findUserIdsNeedingRebalance(maxRankLength));
+    }
+
+    // Called whenever a rank is written; a missing or long rank queues the user's list
+    public void trackRank(Long userId, String rank) {
+        if (rank == null || rank.length() > maxRankLength) {
+            pendingUserIds.add(userId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${todo.rank.rebalance-interval-ms:60000}")
+    public void rebalanceLongRanks() {
+        int rebalanced = 0;
+        for (Long userId : pendingUserIds) {
+            pendingUserIds.remove(userId);
+            try {
+                if (rebalanceUser(userId)) {
+                    rebalanced++;
+                } else {
+                    pendingUserIds.add(userId); // Changed while we were working on it, try again next time
+                }
+            } catch (RuntimeException ex) {
+                pendingUserIds.add(userId);
+                log.error("Failed to rebalance todo ranks for user {}", userId, ex);
+            }
+        }
+        if (rebalanced > 0) {
+            log.info("Rebalanced todo ranks for {} users", rebalanced);
+        }
+    }
+
+    /**
+     * Spreads the ranks of one user's list evenly, in one short transaction.
+     * Only the rank column is written, and only if it still holds the value we read, so a concurrent
+     * edit or move is never undone. Returns false (and changes nothing) if the list changed meanwhile.
+     */
+    public boolean rebalanceUser(Long userId) {
+        Boolean done = transactionTemplate.execute(status -> {
+            List<Todo> todos = todoRepository.findByUserIdOrderByRankAsc(userId);
+            // Keep the current order; todos without a rank go last, oldest first
+            todos.sort(Comparator.comparing(Todo::getRank, Comparator.nullsLast(Comparator.naturalOrder()))
+                    .thenComparing(Todo::getId));
+            List<String> ranks = FractionalRank.spread(todos.size());
+            for (int i = 0; i < todos.size(); i++) {
+                Todo todo = todos.get(i);
+                String expectedRank = todo.getRank() == null ? "" : todo.getRank();
+                if (todoRepository.updateRankIfUnchanged(todo.getId(), expectedRank, ranks.get(i)) == 0) {
+                    status.setRollbackOnly();
+                    return false;
+                }
+            }
+            return true;
+        });
+        return Boolean.TRUE.equals(done);
+    }
+}
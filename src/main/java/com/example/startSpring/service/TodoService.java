@@ -1,12 +1,21 @@
 package com.example.startSpring.service;
 
+import com.example.startSpring.dto.TodoBatchResponse;
 import com.example.startSpring.model.Role;
 import com.example.startSpring.model.Todo;
 import com.example.startSpring.model.User;
 import com.example.startSpring.repository.TodoRepository;
 import com.example.startSpring.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -15,7 +24,14 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -24,9 +40,18 @@ public class TodoService {
 
     private final TodoRepository todoRepository;
     private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final TodoRankRebalancer rankRebalancer;
+    private final TodoStatusWriteBehind statusWriteBehind;
 
-    // Helper method to get the current logged-in user
-    private User getCurrentUser() {
+    // Fields a client may ask for with ?fields=...
+    private static final Set<String> SELECTABLE_FIELDS = Set.of("id", "title", "completed", "description", "rank");
+
+    @Value("${todo.batch.max-ids:100}")
+    private int maxBatchIds;
+
+    // Helper method to get the current logged-in user (also used by other services in this package)
+    User getCurrentUser() {
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
         return userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
@@ -35,24 +60,83 @@ public class TodoService {
     public Todo saveTodo(Todo todo) {
         User currentUser = getCurrentUser();
         todo.setUser(currentUser); // Link the todo to the user
-        return todoRepository.save(todo);
+        // New todos go to the end of the user's list
+        String lastRank = todoRepository.findFirstByUserIdOrderByRankDesc(currentUser.getId())
+                .map(Todo::getRank)
+                .orElse(null);
+        todo.setRank(FractionalRank.after(lastRank));
+        Todo savedTodo = todoRepository.save(todo);
+        rankRebalancer.trackRank(currentUser.getId(), savedTodo.getRank());
+        return savedTodo;
     }
 
     public List<Todo> getAllTodos() {
         User currentUser = getCurrentUser();
         // If Admin, show all. If User, show only theirs.
         if (currentUser.getRole() == Role.ADMIN) {
-            return todoRepository.findAll();
+            return statusWriteBehind.applyPending(todoRepository.findAll(Sort.by("user.id", "rank")));
         } else {
-            return todoRepository.findByUserId(currentUser.getId());
+            return statusWriteBehind.applyPending(todoRepository.findByUserIdOrderByRankAsc(currentUser.getId()));
         }
     }
 
+    /**
+     * Like getAllTodos, but only selects (and returns) the requested columns,
+     * e.g. "id,title,completed" skips loading the long description.
+     */
+    public List<Map<String, Object>> getAllTodos(String fields) {
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (!name.isEmpty()) {
+                if (!SELECTABLE_FIELDS.contains(name)) {
+                    throw new IllegalArgumentException("Unknown field '" + name + "', allowed fields are " + SELECTABLE_FIELDS);
+                }
+                selected.add(name);
+            }
+        }
+        if (selected.isEmpty()) {
+            throw new IllegalArgumentException("At least one field is required");
+        }
+
+        // "id" is always loaded, pending status toggles are looked up by it
+        boolean idRequested = selected.contains("id");
+        Set<String> loaded = new LinkedHashSet<>(selected);
+        loaded.add("id");
+
+        User currentUser = getCurrentUser();
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Todo> root = query.from(Todo.class);
+        query.multiselect(loaded.stream().<Selection<?>>map(name -> root.get(name).alias(name)).toList());
+        // If Admin, show all. If User, show only theirs.
+        if (currentUser.getRole() != Role.ADMIN) {
+            query.where(cb.equal(root.get("user").get("id"), currentUser.getId()));
+            query.orderBy(cb.asc(root.get("rank")));
+        } else {
+            query.orderBy(cb.asc(root.get("user").get("id")), cb.asc(root.get("rank")));
+        }
+
+        List<Map<String, Object>> todos = new ArrayList<>();
+        for (Tuple tuple : entityManager.createQuery(query).getResultList()) {
+            Map<String, Object> todo = new LinkedHashMap<>();
+            for (TupleElement<?> element : tuple.getElements()) {
+                todo.put(element.getAlias(), tuple.get(element));
+            }
+            statusWriteBehind.applyPending(todo);
+            if (!idRequested) {
+                todo.remove("id");
+            }
+            todos.add(todo);
+        }
+        return todos;
+    }
+
     public Page<Todo> getAllTodosWithPagination(int page, int size, String sortBy) {
         // For simplicity in this demo, we'll just return all (pagination logic needs custom query for user)
         // But in a real app, you'd use findByUserId(id, pageable)
         Pageable pageable = PageRequest.of(page, size, Sort.by(sortBy));
-        return todoRepository.findAll(pageable);
+        return todoRepository.findAll(pageable).map(statusWriteBehind::applyPending);
     }
 
     public Todo getTodoById(Long id) {
@@ -64,7 +148,36 @@ public class TodoService {
         if (currentUser.getRole() != Role.ADMIN && !todo.getUser().getId().equals(currentUser.getId())) {
             throw new RuntimeException("You are not allowed to view this todo");
         }
-        return todo;
+        return statusWriteBehind.applyPending(todo);
+    }
+
+    public TodoBatchResponse getTodosByIds(List<Long> ids) {
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+        if (uniqueIds.size() > maxBatchIds) {
+            throw new IllegalArgumentException("Too many ids: at most " + maxBatchIds + " can be fetched at once");
+        }
+
+        // One user lookup and one IN query, instead of N findById calls
+        User currentUser = getCurrentUser();
+        List<Todo> todos = currentUser.getRole() == Role.ADMIN
+                ? todoRepository.findAllById(uniqueIds)
+                : todoRepository.findByIdInAndUserId(uniqueIds, currentUser.getId());
+
+        Map<Long, Todo> todosById = todos.stream().collect(Collectors.toMap(Todo::getId, Function.identity()));
+        List<Todo> found = new ArrayList<>();
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : uniqueIds) {
+            Todo todo = todosById.get(id);
+            if (todo != null) {
+                found.add(statusWriteBehind.applyPending(todo));
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return TodoBatchResponse.builder()
+                .found(found)
+                .missingIds(missingIds)
+                .build();
     }
 
     public Todo editTodoById(Long id, Todo todo) {
@@ -77,13 +190,111 @@ public class TodoService {
             throw new RuntimeException("You are not allowed to edit this todo");
         }
 
+        statusWriteBehind.discard(id); // This full update replaces any pending status toggle
         existingTodo.setTitle(todo.getTitle());
         existingTodo.setDescription(todo.getDescription());
         existingTodo.setCompleted(todo.isCompleted());
         return todoRepository.save(existingTodo);
     }
 
+    /**
+     * Status-only update. With write-behind enabled the new status is queued and written
+     * in a batch shortly after; the response (and later reads) already show it.
+     */
+    public Todo updateTodoStatus(Long id, Todo todo) {
+        if (!statusWriteBehind.isEnabled()) {
+            return editTodoById(id, todo);
+        }
+        Todo existingTodo = todoRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Todo not found"));
+
+        // Check ownership
+        User currentUser = getCurrentUser();
+        if (currentUser.getRole() != Role.ADMIN && !existingTodo.getUser().getId().equals(currentUser.getId())) {
+            throw new RuntimeException("You are not allowed to edit this todo");
+        }
+
+        statusWriteBehind.enqueue(id, todo.isCompleted());
+        return statusWriteBehind.applyPending(existingTodo);
+    }
+
+    /**
+     * Move a todo between two others (drag and drop). Only the moved row is updated:
+     * it gets a new rank between the ranks of its new neighbours.
+     * If only one neighbour is given, the other one is looked up; none means start/end of the list.
+     */
+    public Todo moveTodo(Long id, Long afterId, Long beforeId) {
+        if (afterId == null && beforeId == null) {
+            throw new IllegalArgumentException("Provide 'after' and/or 'before'");
+        }
+        if (id.equals(afterId) || id.equals(beforeId) || (afterId != null && afterId.equals(beforeId))) {
+            throw new IllegalArgumentException("'after', 'before' and the moved todo must be different todos");
+        }
+
+        Todo todo = todoRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Todo not found"));
+
+        // Check ownership
+        User currentUser = getCurrentUser();
+        if (currentUser.getRole() != Role.ADMIN && !todo.getUser().getId().equals(currentUser.getId())) {
+            throw new RuntimeException("You are not allowed to move this todo");
+        }
+
+        Long ownerId = todo.getUser().getId();
+        String rank = rankBetweenNeighbours(todo, ownerId, afterId, beforeId);
+        if (rank == null) {
+            // Neighbours without a usable rank (old rows or duplicates): renumber the list once and retry
+            rankRebalancer.rebalanceUser(ownerId);
+            todo = todoRepository.findById(id)
+                    .orElseThrow(() -> new RuntimeException("Todo not found"));
+            rank = rankBetweenNeighbours(todo, ownerId, afterId, beforeId);
+            if (rank == null) {
+                throw new IllegalArgumentException("'after' must come before 'before' in the list");
+            }
+        }
+        todoRepository.updateRank(id, rank);
+        rankRebalancer.trackRank(ownerId, rank);
+        todo.setRank(rank); // The update above cleared the persistence context, so this stays local
+        return statusWriteBehind.applyPending(todo);
+    }
+
+    // Returns null when the neighbours' ranks can't be used as bounds
+    private String rankBetweenNeighbours(Todo todo, Long ownerId, Long afterId, Long beforeId) {
+        Todo after = afterId == null ? null : findNeighbour(afterId, ownerId);
+        Todo before = beforeId == null ? null : findNeighbour(beforeId, ownerId);
+        if ((after != null && after.getRank() == null) || (before != null && before.getRank() == null)) {
+            return null;
+        }
+
+        if (before == null && after != null) {
+            before = todoRepository.findFirstByUserIdAndRankGreaterThanOrderByRankAsc(ownerId, after.getRank()).orElse(null);
+        } else if (after == null) {
+            after = todoRepository.findFirstByUserIdAndRankLessThanOrderByRankDesc(ownerId, before.getRank()).orElse(null);
+        }
+        // Already in place
+        if ((after != null && after.getId().equals(todo.getId())) || (before != null && before.getId().equals(todo.getId()))) {
+            return todo.getRank();
+        }
+
+        String lower = after == null ? null : after.getRank();
+        String upper = before == null ? null : before.getRank();
+        if (lower != null && upper != null && lower.compareTo(upper) >= 0) {
+            return null;
+        }
+        return FractionalRank.between(lower, upper);
+    }
+
+    private Todo findNeighbour(Long id, Long ownerId) {
+        Todo neighbour = todoRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Todo not found"));
+        if (!neighbour.getUser().getId().equals(ownerId)) {
+            throw new IllegalArgumentException("Todos can only be ordered within the same list");
+        }
+        return neighbour;
+    }
+
     public void deleteTodo(Long id) {
+        statusWriteBehind.discard(id);
         // Note: The Controller already checks for ADMIN role for delete.
         // But if we wanted users to delete their own, we'd add logic here.
         todoRepository.deleteById(id);
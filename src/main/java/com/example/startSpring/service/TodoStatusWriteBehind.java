@@ -0,0 +1,284 @@
+package com.example.startSpring.service;
+
+import com.example.startSpring.model.Todo;
+import com.example.startSpring.repository.TodoRepository;
+import com.example.startSpring.exception.ServiceUnavailableException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * TodoStatusWriteBehind
+ * ---------------------
+ * Opt-in write-behind for PATCH /api/v1/todos/{id}/status (todo.status-write-behind.enabled=true).
+ * Users often toggle "completed" several times per second, and most toggles cancel each other out.
+ * Instead of an UPDATE per toggle we keep only the latest state per todo id in memory and write
+ * all of them with a couple of batched UPDATE statements:
+ * - every flush-interval-ms, on its own thread (so long scheduled jobs can't delay it), or
+ * - as soon as batch-size todos are pending.
+ * Reads of a pending todo see the pending state (read-your-writes), including completedAt: the toggle
+ * time (to the second) is what the flush writes, so the value doesn't change once it is persisted.
+ * If max-pending is reached, the request thread waits for a flush (backpressure). If that flush
+ * fails (database down), new toggles are rejected with 503 instead of piling up, so memory stays bounded.
+ * On shutdown everything pending is written before the database connections go away.
+ */
+@Slf4j
+@Component
+public class TodoStatusWriteBehind {
+
+    // changedAt is truncated to seconds: it is what the flush writes as completedAt, and todos
+    // toggled within the same second can share one UPDATE
+    private record PendingStatus(boolean completed, LocalDateTime changedAt) {
+    }
+
+    private final TodoRepository todoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxPending;
+    private final long flushIntervalMillis;
+    private final ScheduledExecutorService flushExecutor;
+
+    private final ConcurrentHashMap<Long, PendingStatus> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final LongAdder toggles = new LongAdder();
+    private final LongAdder rowsWritten = new LongAdder();
+    private volatile boolean accepting = true;
+    private volatile long lastFailedFlushNanos;
+
+    public TodoStatusWriteBehind(
+            TodoRepository todoRepository,
+            TransactionTemplate transactionTemplate,
+            EntityManager entityManager,
+            @Value("${todo.status-write-behind.enabled:false}") boolean enabled,
+            @Value("${todo.status-write-behind.batch-size:200}") int batchSize,
+            @Value("${todo.status-write-behind.max-pending:10000}") int maxPending,
+            @Value("${todo.status-write-behind.flush-interval-ms:500}") long flushIntervalMillis
+    ) {
+        this.todoRepository = todoRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxPending = maxPending;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.flushExecutor = enabled ? Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("todo-status-flush")
+                .daemon(true)
+                .factory()) : null;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (flushExecutor != null) {
+            flushExecutor.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void enqueue(Long todoId, boolean completed) {
+        toggles.increment();
+        if (!accepting) {
+            // Shutting down: write straight through
+            writeNow(todoId, completed);
+            return;
+        }
+        // A newer toggle simply replaces the older one, only a new todo id makes the queue grow
+        if (!pending.containsKey(todoId) && pending.size() >= maxPending && !makeRoom()) {
+            throw new ServiceUnavailableException("Too many pending status updates, please retry shortly");
+        }
+        pending.put(todoId, new PendingStatus(completed, LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS)));
+
+        if (pending.size() >= batchSize && !recentlyFailed() && flushLock.tryLock()) {
+            try {
+                flushLocked();
+            } finally {
+                flushLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * A full update (PUT) or delete wins over a pending toggle. Call this before writing the todo:
+     * if a flush already copied the toggle, we wait for it to finish, so it can't overwrite the
+     * newer write afterwards.
+     */
+    public void discard(Long todoId) {
+        // Not pending means any flush of it has already been committed (entries are removed after the write)
+        if (!pending.containsKey(todoId)) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            pending.remove(todoId);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the todo with its pending status applied. The entity is detached first,
+     * so the change can never be flushed to the database by accident.
+     */
+    public Todo applyPending(Todo todo) {
+        PendingStatus status = pending.get(todo.getId());
+        // Same state as stored: the flush won't touch the row, so neither do we
+        if (status != null && status.completed() != todo.isCompleted()) {
+            entityManager.detach(todo);
+            todo.setCompleted(status.completed());
+            todo.setCompletedAt(status.completed() ? status.changedAt() : null);
+        }
+        return todo;
+    }
+
+    public List<Todo> applyPending(List<Todo> todos) {
+        if (!pending.isEmpty()) {
+            todos.forEach(this::applyPending);
+        }
+        return todos;
+    }
+
+    // Same for the sparse field lists (needs "id", which TodoService always selects, and "completed")
+    public void applyPending(Map<String, Object> todo) {
+        if (todo.get("id") instanceof Long id && todo.containsKey("completed")) {
+            PendingStatus status = pending.get(id);
+            if (status != null) {
+                todo.put("completed", status.completed());
+            }
+        }
+    }
+
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            flushLocked();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void drain() {
+        accepting = false;
+        if (flushExecutor != null) {
+            flushExecutor.shutdown();
+            try {
+                flushExecutor.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+        log.info("Status write-behind drained: {} toggles written as {} row updates", toggles.sum(), rowsWritten.sum());
+    }
+
+    public Map<String, Object> getStats() {
+        return Map.of(
+                "enabled", enabled,
+                "pending", pending.size(),
+                "toggles", toggles.sum(),
+                "rowsWritten", rowsWritten.sum()
+        );
+    }
+
+    // Backpressure: wait until the queue has been written. Returns false if it couldn't be,
+    // without hitting the database again while the last failure is recent.
+    private boolean makeRoom() {
+        flushLock.lock();
+        try {
+            return !recentlyFailed() && flushLocked() && pending.size() < maxPending;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // Request threads leave retries after a failed flush to the flush thread
+    private boolean recentlyFailed() {
+        long failedAt = lastFailedFlushNanos;
+        return failedAt != 0 && System.nanoTime() - failedAt < TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+    }
+
+    private boolean flushLocked() {
+        if (pending.isEmpty()) {
+            return true;
+        }
+        Map<Long, PendingStatus> snapshot = new HashMap<>(pending);
+        // Completed todos are grouped by toggle time, which becomes their completedAt
+        Map<LocalDateTime, List<Long>> completedIds = new HashMap<>();
+        List<Long> openIds = new ArrayList<>();
+        snapshot.forEach((id, status) -> {
+            if (status.completed()) {
+                completedIds.computeIfAbsent(status.changedAt(), time -> new ArrayList<>()).add(id);
+            } else {
+                openIds.add(id);
+            }
+        });
+
+        try {
+            Integer written = transactionTemplate.execute(tx -> {
+                int rows = 0;
+                // The UPDATEs only touch rows whose state really changes, so toggles that
+                // cancelled each other out cost nothing
+                for (Map.Entry<LocalDateTime, List<Long>> group : completedIds.entrySet()) {
+                    for (List<Long> ids : partition(group.getValue())) {
+                        rows += todoRepository.markCompleted(ids, group.getKey());
+                    }
+                }
+                for (List<Long> ids : partition(openIds)) {
+                    rows += todoRepository.markOpen(ids);
+                }
+                return rows;
+            });
+            rowsWritten.add(written == null ? 0 : written);
+            // Only remove entries that weren't toggled again while we were writing
+            snapshot.forEach(pending::remove);
+            lastFailedFlushNanos = 0;
+            return true;
+        } catch (RuntimeException ex) {
+            // Entries stay in the map and are retried on the next flush
+            lastFailedFlushNanos = System.nanoTime();
+            log.error("Failed to flush {} pending todo status changes", snapshot.size(), ex);
+            return false;
+        }
+    }
+
+    private void writeNow(Long todoId, boolean completed) {
+        pending.remove(todoId);
+        Integer written = transactionTemplate.execute(tx -> completed
+                ? todoRepository.markCompleted(List.of(todoId), LocalDateTime.now())
+                : todoRepository.markOpen(List.of(todoId)));
+        rowsWritten.add(written == null ? 0 : written);
+    }
+
+    private List<List<Long>> partition(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += batchSize) {
+            chunks.add(ids.subList(i, Math.min(ids.size(), i + batchSize)));
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.startSpring.service;
+
+import com.example.startSpring.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * UsernameBloomFilter
+ * -------------------
+ * An in-memory Bloom filter of all registered usernames.
+ * - "no"    means the username is definitely free (no database query needed).
+ * - "maybe" means it *might* be taken, the caller must confirm with UserRepository.findByUsername.
+ * It is filled at startup by streaming the usernames from the database, and kept
+ * current by calling put() after every registration. Until the warm-up is done it
+ * answers "maybe" for everything, so it is never wrong.
+ */
+@Slf4j
+@Component
+public class UsernameBloomFilter {
+
+    private final UserRepository userRepository;
+    private final AtomicLongArray bits;
+    private final int bitCount;
+    private final int hashCount;
+    private volatile boolean ready;
+
+    public UsernameBloomFilter(
+            UserRepository userRepository,
+            @Value("${todo.username-filter.expected-users:1000000}") int expectedUsers,
+            @Value("${todo.username-filter.false-positive-rate:0.01}") double falsePositiveRate
+    ) {
+        this.userRepository = userRepository;
+        // Standard sizing: m = -n ln(p) / ln(2)^2 bits, k = m/n ln(2) hash functions
+        long m = (long) Math.ceil(-expectedUsers * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = (int) Math.max(64, Math.min(Integer.MAX_VALUE - 63, m));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedUsers * Math.log(2)));
+        this.bits = new AtomicLongArray((bitCount + 63) / 64);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true) // Needed to stream results from the database
+    public void warmUp() {
+        long start = System.currentTimeMillis();
+        LongAdder count = new LongAdder();
+        try (Stream<String> usernames = userRepository.streamAllUsernames()) {
+            usernames.forEach(username -> {
+                put(username);
+                count.increment();
+            });
+        }
+        ready = true;
+        log.info("Username filter loaded {} usernames in {} ms ({} bits, {} hashes)",
+                count.sum(), System.currentTimeMillis() - start, bitCount, hashCount);
+    }
+
+    public void put(String username) {
+        long hash = hash(username);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitCount);
+            long mask = 1L << bit;
+            int word = bit >>> 6;
+            // Lock-free "set bit": only CAS when the bit isn't set yet
+            long current;
+            while (((current = bits.get(word)) & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    public boolean mightContain(String username) {
+        if (!ready) {
+            return true;
+        }
+        long hash = hash(username);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 64-bit FNV-1a over the lowercased name (MySQL compares usernames case-insensitively),
+    // followed by a final mix so both 32-bit halves are well distributed.
+    private static long hash(String username) {
+        String key = username.toLowerCase(Locale.ROOT);
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+}
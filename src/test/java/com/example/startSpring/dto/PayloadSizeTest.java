@@ -0,0 +1,133 @@
+package com.example.startSpring.dto;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import com.example.startSpring.model.Todo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Payload size and serialization CPU of GET /api/v1/todos/all (full todos) versus
+ * /all?fields=id,title,completed, per encoding and compression.
+ * The numbers are logged so they can be compared between changes; only sizes are asserted,
+ * CPU times depend too much on the machine.
+ */
+class PayloadSizeTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PayloadSizeTest.class);
+
+    private static final int TODOS = 500;
+    private static final int WARMUP_ROUNDS = 200;
+    private static final int MEASURED_ROUNDS = 200;
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private static List<Todo> fullTodos() {
+        List<Todo> todos = new ArrayList<>();
+        for (int i = 1; i <= TODOS; i++) {
+            Todo todo = new Todo();
+            todo.setId((long) i);
+            todo.setTitle("Todo number " + i + ": buy groceries for the week");
+            todo.setDescription("Milk, eggs, bread, coffee and some fruit. Remember to check the offers first (#" + i + ").");
+            todo.setCompleted(i % 3 == 0);
+            todo.setRank(String.format("i%05d", i));
+            todos.add(todo);
+        }
+        return todos;
+    }
+
+    private static List<Map<String, Object>> sparseTodos() {
+        List<Map<String, Object>> todos = new ArrayList<>();
+        for (Todo todo : fullTodos()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("id", todo.getId());
+            row.put("title", todo.getTitle());
+            row.put("completed", todo.isCompleted());
+            todos.add(row);
+        }
+        return todos;
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] brotli(byte[] bytes) throws IOException {
+        return Encoder.compress(bytes, new Encoder.Parameters().setQuality(4).setMode(Encoder.Mode.TEXT));
+    }
+
+    private interface Step {
+        byte[] run() throws IOException;
+    }
+
+    // Average CPU time of one run in microseconds (thread CPU time, so other load doesn't count), after a warm-up
+    private static long cpuMicros(Step step) throws IOException {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            step.run();
+        }
+        long start = THREADS.getCurrentThreadCpuTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            step.run();
+        }
+        return (THREADS.getCurrentThreadCpuTime() - start) / MEASURED_ROUNDS / 1_000;
+    }
+
+    @Test
+    void sparseFieldsAndCompressionShrinkTheTodoList() throws IOException {
+        // The same mappers Spring MVC uses for application/json, application/x-jackson-smile and application/cbor
+        Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+        mappers.put("json", Jackson2ObjectMapperBuilder.json().build());
+        mappers.put("smile", Jackson2ObjectMapperBuilder.smile().build());
+        mappers.put("cbor", Jackson2ObjectMapperBuilder.cbor().build());
+
+        Map<String, Object> payloads = new LinkedHashMap<>();
+        payloads.put("/all", ApiResponse.success("Todos fetched successfully", fullTodos()));
+        payloads.put("/all?fields=id,title,completed", ApiResponse.success("Todos fetched successfully", sparseTodos()));
+
+        boolean brotliAvailable = Brotli4jLoader.isAvailable();
+        log.info(String.format("%-32s %-6s %8s %8s %8s | %s", "payload (" + TODOS + " todos)", "format",
+                "raw B", "gzip B", "br B", "CPU us: serialize / +gzip / +br"));
+        Map<String, Integer> rawSizes = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> payload : payloads.entrySet()) {
+            for (Map.Entry<String, ObjectMapper> mapper : mappers.entrySet()) {
+                Step serialize = () -> mapper.getValue().writeValueAsBytes(payload.getValue());
+                byte[] raw = serialize.run();
+                byte[] gzipped = gzip(raw);
+                int brotliSize = brotliAvailable ? brotli(raw).length : -1;
+
+                long serializeMicros = cpuMicros(serialize);
+                long gzipMicros = cpuMicros(() -> gzip(serialize.run()));
+                long brotliMicros = brotliAvailable ? cpuMicros(() -> brotli(serialize.run())) : -1;
+                log.info(String.format("%-32s %-6s %8d %8d %8d | %d / %d / %d", payload.getKey(), mapper.getKey(),
+                        raw.length, gzipped.length, brotliSize, serializeMicros, gzipMicros, brotliMicros));
+
+                assertThat(gzipped.length)
+                        .as("gzip should shrink %s as %s", payload.getKey(), mapper.getKey())
+                        .isLessThan(raw.length);
+                rawSizes.put(payload.getKey() + " " + mapper.getKey(), raw.length);
+            }
+        }
+
+        assertThat(rawSizes.get("/all?fields=id,title,completed json")).isLessThan(rawSizes.get("/all json"));
+        assertThat(rawSizes.get("/all smile")).isLessThan(rawSizes.get("/all json"));
+        assertThat(rawSizes.get("/all cbor")).isLessThan(rawSizes.get("/all json"));
+    }
+}
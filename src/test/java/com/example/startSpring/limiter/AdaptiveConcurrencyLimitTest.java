@@ -0,0 +1,73 @@
+package com.example.startSpring.limiter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long WINDOW_MILLIS = 250;
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AdaptiveConcurrencyLimit limit =
+            new AdaptiveConcurrencyLimit("test", 20, 2, 100, WINDOW_MILLIS, clock::get);
+
+    // Fills the limit, releases every slot with the given latency, then lets the window close
+    // with one more request so the limit is recalculated once per window
+    private void runWindows(int windows, long rttMillis) {
+        long rttNanos = TimeUnit.MILLISECONDS.toNanos(rttMillis);
+        for (int w = 0; w < windows; w++) {
+            int slots = limit.getLimit();
+            for (int i = 0; i < slots; i++) {
+                assertThat(limit.tryAcquire()).isTrue();
+            }
+            for (int i = 0; i < slots - 1; i++) {
+                limit.release(rttNanos);
+            }
+            clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(WINDOW_MILLIS));
+            limit.release(rttNanos);
+        }
+    }
+
+    @Test
+    void growsWhileLatencyIsFlat() {
+        runWindows(50, 10);
+
+        assertThat(limit.getLimit()).isGreaterThan(20);
+    }
+
+    @Test
+    void rejectsWhenFull() {
+        for (int i = 0; i < 20; i++) {
+            assertThat(limit.tryAcquire()).isTrue();
+        }
+
+        assertThat(limit.tryAcquire()).isFalse();
+        assertThat(limit.getRejected()).isEqualTo(1);
+    }
+
+    @Test
+    void shrinksOnSlowdownAndRecoversAfterwards() {
+        runWindows(50, 10);
+        int beforeSpike = limit.getLimit();
+
+        runWindows(10, 40);
+        int afterSpike = limit.getLimit();
+        assertThat(afterSpike).isLessThan(beforeSpike);
+
+        runWindows(140, 10);
+        assertThat(limit.getLimit()).isGreaterThan(afterSpike);
+    }
+
+    @Test
+    void neverLeavesConfiguredBounds() {
+        runWindows(500, 10);
+        assertThat(limit.getLimit()).isLessThanOrEqualTo(100);
+
+        runWindows(200, 1000);
+        assertThat(limit.getLimit()).isGreaterThanOrEqualTo(2);
+    }
+}
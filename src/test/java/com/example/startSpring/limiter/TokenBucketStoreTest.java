@@ -0,0 +1,105 @@
+package com.example.startSpring.limiter;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenBucketStoreTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenBucketStoreTest.class);
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong();
+    // One stripe, so a single sweep() call covers every bucket
+    private final TokenBucketStore store = new TokenBucketStore(1, 10 * SECOND, clock::get);
+
+    @Test
+    void allowsExactlyCapacityRequestsPerPeriod() {
+        for (int i = 1; i <= 3; i++) {
+            TokenBucketStore.Decision decision = store.tryConsume("key", 3, 3 * SECOND);
+            assertThat(decision.allowed()).isTrue();
+            assertThat(decision.remaining()).isEqualTo(3 - i);
+            assertThat(decision.resetNanos()).as("time until the bucket is full again").isEqualTo(i * SECOND);
+        }
+
+        TokenBucketStore.Decision rejected = store.tryConsume("key", 3, 3 * SECOND);
+
+        assertThat(rejected.allowed()).isFalse();
+        assertThat(rejected.remaining()).isZero();
+        assertThat(rejected.resetNanos()).as("time until the next token").isEqualTo(SECOND);
+    }
+
+    @Test
+    void refillsOverThePeriod() {
+        for (int i = 0; i < 3; i++) {
+            store.tryConsume("key", 3, 3 * SECOND);
+        }
+
+        clock.addAndGet(SECOND);
+        assertThat(store.tryConsume("key", 3, 3 * SECOND).allowed()).as("one token back after 1/3 period").isTrue();
+        assertThat(store.tryConsume("key", 3, 3 * SECOND).allowed()).isFalse();
+
+        clock.addAndGet(3 * SECOND);
+        TokenBucketStore.Decision decision = store.tryConsume("key", 3, 3 * SECOND);
+        assertThat(decision.allowed()).isTrue();
+        assertThat(decision.remaining()).as("full again after a whole period").isEqualTo(2);
+    }
+
+    @Test
+    void keysHaveSeparateBuckets() {
+        assertThat(store.tryConsume("a", 1, SECOND).allowed()).isTrue();
+        assertThat(store.tryConsume("a", 1, SECOND).allowed()).isFalse();
+        assertThat(store.tryConsume("b", 1, SECOND).allowed()).isTrue();
+    }
+
+    @Test
+    void sweepDropsOnlyIdleBuckets() {
+        store.tryConsume("idle", 10, 10 * SECOND);
+        clock.set(20 * SECOND);
+        store.tryConsume("active", 10, 10 * SECOND);
+        store.tryConsume("active", 10, 10 * SECOND);
+        clock.set(21 * SECOND);
+
+        store.sweep();
+
+        assertThat(store.size()).isEqualTo(1);
+        // The surviving bucket still remembers its usage
+        assertThat(store.tryConsume("active", 10, 10 * SECOND).remaining()).isEqualTo(8);
+    }
+
+    @Test
+    void rejectsNonPositiveCapacity() {
+        assertThatThrownBy(() -> store.tryConsume("key", 0, SECOND)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // Rough micro-benchmark of the per-request overhead (target: below a microsecond).
+    // The bound is loose so slow CI machines don't fail; the measured value is logged.
+    @Test
+    void tryConsumeIsCheap() {
+        TokenBucketStore realClockStore = new TokenBucketStore(16, 600 * SECOND);
+        String[] keys = new String[1_000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = "user:user" + i + "|todo-read";
+        }
+        int iterations = 2_000_000;
+        for (int i = 0; i < iterations; i++) { // Warm up the JIT
+            realClockStore.tryConsume(keys[i % keys.length], 1_000_000, 60 * SECOND);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            realClockStore.tryConsume(keys[i % keys.length], 1_000_000, 60 * SECOND);
+        }
+        double nanosPerCall = (double) (System.nanoTime() - start) / iterations;
+
+        log.info("TokenBucketStore.tryConsume: {} ns per call", String.format("%.1f", nanosPerCall));
+        assertThat(nanosPerCall).isLessThan(5_000);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.startSpring.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvRecordReaderTest {
+
+    private static CsvRecordReader reader(String csv) {
+        return new CsvRecordReader(new BoundedLineReader(new StringReader(csv), 100), 50);
+    }
+
+    @Test
+    void readsPlainFields() throws IOException {
+        CsvRecordReader reader = reader("title,description,completed\nBuy milk,,true\n");
+
+        assertThat(reader.readRecord()).containsExactly("title", "description", "completed");
+        assertThat(reader.readRecord()).containsExactly("Buy milk", "", "true");
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    @Test
+    void keepsCommasAndEscapedQuotesInsideQuotes() throws IOException {
+        CsvRecordReader reader = reader("\"a, b\",\"say \"\"hi\"\"\",\"\"\n");
+
+        assertThat(reader.readRecord()).containsExactly("a, b", "say \"hi\"", "");
+    }
+
+    @Test
+    void quotedFieldMaySpanLines() throws IOException {
+        CsvRecordReader reader = reader("\"first\nsecond\",x\r\nnext,y\r\n");
+
+        assertThat(reader.readRecord()).containsExactly("first\nsecond", "x");
+        assertThat(reader.readRecord()).containsExactly("next", "y");
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    @Test
+    void handlesMissingTrailingNewline() throws IOException {
+        CsvRecordReader reader = reader("a,b");
+
+        assertThat(reader.readRecord()).containsExactly("a", "b");
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    @Test
+    void stripsByteOrderMarkFromHeader() throws IOException {
+        CsvRecordReader reader = reader("\uFEFFtitle,completed\n");
+
+        assertThat(reader.readRecord()).containsExactly("title", "completed");
+    }
+
+    @Test
+    void rejectsUnterminatedQuote() {
+        CsvRecordReader reader = reader("\"never closed,x\nmore\n");
+
+        assertThatThrownBy(reader::readRecord)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unterminated");
+    }
+
+    @Test
+    void rejectsQuotedFieldLongerThanLimit() {
+        CsvRecordReader reader = reader("\"" + "x\n".repeat(40));
+
+        assertThatThrownBy(reader::readRecord).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsTooLongLineAndContinuesWithTheNext() throws IOException {
+        BoundedLineReader lines = new BoundedLineReader(new StringReader("x".repeat(500) + "\nok\n"), 100);
+
+        assertThatThrownBy(lines::readLine).isInstanceOf(IllegalArgumentException.class);
+        assertThat(lines.readLine()).isEqualTo("ok");
+        assertThat(lines.readLine()).isNull();
+    }
+
+    @Test
+    void readsEmptyLines() throws IOException {
+        BoundedLineReader lines = new BoundedLineReader(new StringReader("\n\na\n"), 100);
+
+        assertThat(List.of(lines.readLine(), lines.readLine(), lines.readLine())).containsExactly("", "", "a");
+        assertThat(lines.readLine()).isNull();
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.startSpring.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FractionalRankTest {
+
+    private static final String DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz";
+
+    // Fixed seed so a failure can be reproduced
+    private final Random random = new Random(42);
+
+    private static void assertValid(String rank) {
+        assertThat(rank).isNotEmpty();
+        assertThat(rank.chars().allMatch(c -> DIGITS.indexOf(c) >= 0)).as("digits of %s", rank).isTrue();
+        assertThat(rank).doesNotEndWith("0");
+    }
+
+    @Test
+    void betweenIsStrictlyBetweenForRandomInserts() {
+        // Simulate drag and drop: keep inserting at random positions of one list
+        List<String> ranks = new ArrayList<>(List.of(FractionalRank.after(null)));
+        for (int i = 0; i < 5_000; i++) {
+            int position = random.nextInt(ranks.size() + 1);
+            String lower = position == 0 ? null : ranks.get(position - 1);
+            String upper = position == ranks.size() ? null : ranks.get(position);
+
+            String rank = FractionalRank.between(lower, upper);
+
+            assertValid(rank);
+            if (lower != null) {
+                assertThat(rank).isGreaterThan(lower);
+            }
+            if (upper != null) {
+                assertThat(rank).isLessThan(upper);
+            }
+            ranks.add(position, rank);
+        }
+    }
+
+    @Test
+    void repeatedInsertsIntoTheSameGapKeepWorking() {
+        String lower = "i00001";
+        String upper = "i00002";
+        for (int i = 0; i < 200; i++) {
+            String rank = FractionalRank.between(lower, upper);
+            assertValid(rank);
+            assertThat(rank).isGreaterThan(lower).isLessThan(upper);
+            if (random.nextBoolean()) {
+                lower = rank;
+            } else {
+                upper = rank;
+            }
+        }
+    }
+
+    @Test
+    void afterIsIncreasingAndKeepsItsLength() {
+        String previous = null;
+        for (int i = 0; i < 100_000; i++) {
+            String rank = FractionalRank.after(previous);
+            assertValid(rank);
+            if (previous != null) {
+                assertThat(rank).isGreaterThan(previous);
+            }
+            previous = rank;
+        }
+        assertThat(previous).hasSize(6);
+    }
+
+    @Test
+    void afterGrowsWhenAllDigitsAreUsed() {
+        String rank = FractionalRank.after("zzzzzz");
+
+        assertValid(rank);
+        assertThat(rank).isGreaterThan("zzzzzz");
+    }
+
+    @Test
+    void spreadIsSortedAndShort() {
+        for (int count : new int[]{0, 1, 2, 35, 36, 1_000, 50_000}) {
+            List<String> ranks = FractionalRank.spread(count);
+
+            assertThat(ranks).hasSize(count).isSorted().doesNotHaveDuplicates();
+            ranks.forEach(FractionalRankTest::assertValid);
+            ranks.forEach(rank -> assertThat(rank.length()).isLessThanOrEqualTo(5));
+        }
+    }
+
+    @Test
+    void betweenRejectsBoundsInTheWrongOrder() {
+        assertThatThrownBy(() -> FractionalRank.between("b", "a")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> FractionalRank.between("a", "a")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
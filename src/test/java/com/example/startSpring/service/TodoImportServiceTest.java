@@ -0,0 +1,86 @@
+package com.example.startSpring.service;
+
+import com.example.startSpring.dto.ImportSummary;
+import com.example.startSpring.model.User;
+import com.example.startSpring.repository.TodoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TodoImportServiceTest {
+
+    private final TodoService todoService = mock(TodoService.class);
+    private final TodoRepository todoRepository = mock(TodoRepository.class);
+
+    // The transaction template is a mock, so "persisting" a batch always succeeds without a database
+    private final TodoImportService importService = new TodoImportService(
+            todoService,
+            todoRepository,
+            mock(TodoRankRebalancer.class),
+            mock(EntityManager.class),
+            mock(TransactionTemplate.class),
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            new ObjectMapper());
+
+    TodoImportServiceTest() {
+        when(todoService.getCurrentUser()).thenReturn(User.builder().id(1L).username("alice").build());
+        when(todoRepository.findFirstByUserIdOrderByRankDesc(any())).thenReturn(Optional.empty());
+        ReflectionTestUtils.setField(importService, "batchSize", 500);
+        ReflectionTestUtils.setField(importService, "maxLineChars", 16_384);
+        ReflectionTestUtils.setField(importService, "maxReportedErrors", 100);
+        ReflectionTestUtils.setField(importService, "targetRowsPerSecond", 2000L);
+    }
+
+    private ImportSummary importText(String text, TodoImportService.Format format) throws IOException {
+        return importService.importTodos(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), format);
+    }
+
+    @Test
+    void importsValidNdjsonRowsAndReportsBadOnes() throws IOException {
+        ImportSummary summary = importText("""
+                {"title":"Buy milk","completed":true}
+                null
+                {"title":"Walk the dog"
+                {"title":"x"}
+
+                {"title":"Call mom","description":"Sunday"}
+                """, TodoImportService.Format.NDJSON);
+
+        assertThat(summary.getTotalRows()).isEqualTo(5);
+        assertThat(summary.getImported()).isEqualTo(2);
+        assertThat(summary.getFailed()).isEqualTo(3);
+        assertThat(summary.getErrors())
+                .extracting(ImportSummary.RowError::getRow)
+                .containsExactly(2L, 3L, 4L);
+        assertThat(summary.getErrors().get(0).getMessage()).isEqualTo("Row must be a JSON object");
+    }
+
+    @Test
+    void importsCsvWithByteOrderMark() throws IOException {
+        ImportSummary summary = importText("\uFEFFtitle,completed\nBuy milk,true\n\"Walk, the dog\",false\n",
+                TodoImportService.Format.CSV);
+
+        assertThat(summary.getImported()).isEqualTo(2);
+        assertThat(summary.getErrors()).isEmpty();
+    }
+
+    @Test
+    void rejectsCsvWithoutTitleColumn() {
+        assertThatThrownBy(() -> importText("name,completed\nBuy milk,true\n", TodoImportService.Format.CSV))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
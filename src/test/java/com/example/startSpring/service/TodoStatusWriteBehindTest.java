@@ -0,0 +1,114 @@
+package com.example.startSpring.service;
+
+import com.example.startSpring.exception.ServiceUnavailableException;
+import com.example.startSpring.model.Todo;
+import com.example.startSpring.repository.TodoRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TodoStatusWriteBehindTest {
+
+    private final TodoRepository todoRepository = mock(TodoRepository.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+
+    // batch-size 100 and max-pending 2; the flush thread isn't started, flushes only happen on demand
+    private TodoStatusWriteBehind writeBehind(long flushIntervalMillis) {
+        return new TodoStatusWriteBehind(todoRepository, transactionTemplate, mock(EntityManager.class),
+                true, 100, 2, flushIntervalMillis);
+    }
+
+    @Test
+    void rejectsNewTodosWhenFullAndTheDatabaseIsDown() {
+        when(transactionTemplate.execute(any())).thenThrow(new CannotCreateTransactionException("database down"));
+        TodoStatusWriteBehind writeBehind = writeBehind(60_000);
+        writeBehind.enqueue(1L, true);
+        writeBehind.enqueue(2L, true);
+
+        assertThatThrownBy(() -> writeBehind.enqueue(3L, true)).isInstanceOf(ServiceUnavailableException.class);
+        assertThatThrownBy(() -> writeBehind.enqueue(4L, true)).isInstanceOf(ServiceUnavailableException.class);
+
+        // Toggling an already pending todo doesn't grow the queue, so it's still accepted
+        writeBehind.enqueue(1L, false);
+        assertThat(writeBehind.getStats()).containsEntry("pending", 2);
+    }
+
+    @Test
+    void makesRoomByFlushingWhenTheDatabaseIsUp() {
+        when(transactionTemplate.execute(any())).thenReturn(2);
+        TodoStatusWriteBehind writeBehind = writeBehind(0);
+        writeBehind.enqueue(1L, true);
+        writeBehind.enqueue(2L, false);
+
+        writeBehind.enqueue(3L, true);
+
+        assertThat(writeBehind.getStats())
+                .containsEntry("pending", 1)
+                .containsEntry("rowsWritten", 2L);
+    }
+
+    // Runs the flush's transaction callback for real, against the mocked repository
+    private void runTransactions() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(mock(TransactionStatus.class)));
+    }
+
+    @Test
+    void flushWritesTheCompletedAtThatReadsShowed() {
+        runTransactions();
+        TodoStatusWriteBehind writeBehind = writeBehind(0);
+        Todo todo = new Todo();
+        todo.setId(1L);
+
+        writeBehind.enqueue(1L, true);
+        LocalDateTime shown = writeBehind.applyPending(todo).getCompletedAt();
+        writeBehind.flush();
+
+        assertThat(shown).isNotNull();
+        verify(todoRepository).markCompleted(List.of(1L), shown);
+    }
+
+    @Test
+    void discardWaitsForAFlushThatAlreadyCopiedTheToggle() throws Exception {
+        runTransactions();
+        CountDownLatch flushStarted = new CountDownLatch(1);
+        CountDownLatch releaseFlush = new CountDownLatch(1);
+        when(todoRepository.markCompleted(any(), any())).thenAnswer(invocation -> {
+            flushStarted.countDown();
+            releaseFlush.await();
+            return 1;
+        });
+        TodoStatusWriteBehind writeBehind = writeBehind(0);
+        writeBehind.enqueue(1L, true);
+
+        Thread flusher = new Thread(writeBehind::flush);
+        flusher.start();
+        assertThat(flushStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Void> discard = CompletableFuture.runAsync(() -> writeBehind.discard(1L));
+
+        // The PUT must not go ahead while the old toggle is still being written
+        Thread.sleep(200);
+        assertThat(discard).isNotDone();
+
+        releaseFlush.countDown();
+        discard.get(5, TimeUnit.SECONDS);
+        flusher.join();
+        assertThat(writeBehind.getStats()).containsEntry("pending", 0);
+    }
+}